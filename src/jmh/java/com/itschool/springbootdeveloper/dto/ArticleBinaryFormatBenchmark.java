@@ -0,0 +1,93 @@
+package com.itschool.springbootdeveloper.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// 글 목록 응답의 인코딩별 비용 : JSON / CBOR / Smile 의 직렬화, 역직렬화 시간과 응답 크기
+// 크기는 측정이 끝날 때 원본/gzip 바이트 수를 출력함 (HTTP 압축을 켠 경우와 비교)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleBinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"20", "100", "1000"}) // 기본 페이지 크기, 최대 페이지 크기, 전체 목록
+    private int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<ArticleSummaryResponse> articles;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // 스프링 MVC 컨버터와 같은 기본 설정에 형식별 팩토리만 바꿈 (BinaryFormatConfig)
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory()).build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, ArticleSummaryResponse.class));
+        reader = objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, AddArticleRequest.class));
+
+        articles = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            ArticleSummary summary = new ArticleSummary(id, 0L, "제목 " + id, LocalDateTime.now(), LocalDateTime.now(),
+                    ("글 " + id + " 미리보기 ").repeat(20).substring(0, ArticleSummary.PREVIEW_LENGTH), id);
+            articles.add(new ArticleSummaryResponse(summary));
+        }
+        encoded = writer.writeValueAsBytes(articles);
+    }
+
+    @TearDown(Level.Trial)
+    public void printPayloadSize() throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(encoded);
+        }
+        System.out.printf("%n[payload] format=%s size=%d bytes=%d gzip=%d%n", format, size, encoded.length, gzipped.size());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(articles);
+    }
+
+    // 요청 본문 파싱 : 같은 필드 이름(title, content)의 글 추가 요청으로 읽음 (모르는 필드는 빌더 기본 설정대로 무시)
+    @Benchmark
+    public List<AddArticleRequest> parse() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private JsonFactory factory() {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
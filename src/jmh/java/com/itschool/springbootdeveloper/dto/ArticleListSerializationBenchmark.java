@@ -0,0 +1,63 @@
+package com.itschool.springbootdeveloper.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 글 목록 응답(JSON) 직렬화 비용 : 목록 크기별로 측정
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleListSerializationBenchmark {
+
+    @Param({"10", "100", "1000"}) // 기본 페이지 크기, 최대 페이지 크기, 전체 목록
+    private int size;
+
+    private ObjectWriter writer;
+    private List<ArticleSummaryResponse> articles;
+    private List<ArticleListViewResponse> listViews;
+
+    @Setup
+    public void setUp() {
+        // 스프링 MVC의 MappingJackson2HttpMessageConverter와 같은 기본 설정
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        articles = new ArrayList<>(size);
+        listViews = new ArrayList<>(size);
+
+        for (long id = 1; id <= size; id++) {
+            ArticleSummary summary = new ArticleSummary(id, 0L, "제목 " + id, LocalDateTime.now(), LocalDateTime.now(),
+                    ("글 " + id + " 미리보기 ").repeat(20).substring(0, ArticleSummary.PREVIEW_LENGTH), id);
+            articles.add(new ArticleSummaryResponse(summary));
+            listViews.add(new ArticleListViewResponse(summary));
+        }
+    }
+
+    @Benchmark
+    public byte[] articleResponses() throws JsonProcessingException {
+        return writer.writeValueAsBytes(articles);
+    }
+
+    @Benchmark
+    public byte[] listViewResponses() throws JsonProcessingException {
+        return writer.writeValueAsBytes(listViews);
+    }
+}
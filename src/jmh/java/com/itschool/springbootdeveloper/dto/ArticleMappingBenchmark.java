@@ -0,0 +1,77 @@
+package com.itschool.springbootdeveloper.dto;
+
+import com.itschool.springbootdeveloper.domain.Article;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// 엔티티/요약/스냅샷 -> 응답 DTO 변환과 요청 DTO -> 엔티티 변환 비용
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleMappingBenchmark {
+
+    private Article article;
+    private ArticleSnapshot snapshot;
+    private ArticleSummary summary;
+    private AddArticleRequest addRequest;
+
+    @Setup
+    public void setUp() {
+        String content = "본문 ".repeat(80);
+
+        article = Article.builder()
+                .title("제목")
+                .content(content)
+                .build();
+        snapshot = ArticleSnapshot.from(article);
+        summary = new ArticleSummary(1L, 0L, "제목", LocalDateTime.now(), LocalDateTime.now(),
+                content.substring(0, ArticleSummary.PREVIEW_LENGTH), 0L);
+        addRequest = new AddArticleRequest("제목", content);
+    }
+
+    @Benchmark
+    public ArticleResponse articleResponseFromEntity() {
+        return new ArticleResponse(article);
+    }
+
+    @Benchmark
+    public ArticleResponse articleResponseFromSnapshot() {
+        return new ArticleResponse(snapshot);
+    }
+
+    @Benchmark
+    public ArticleSummaryResponse articleSummaryResponseFromSummary() {
+        return new ArticleSummaryResponse(summary);
+    }
+
+    @Benchmark
+    public ArticleListViewResponse listViewResponseFromSummary() {
+        return new ArticleListViewResponse(summary);
+    }
+
+    @Benchmark
+    public ArticleViewResponse viewResponseFromSnapshot() {
+        return new ArticleViewResponse(snapshot);
+    }
+
+    @Benchmark
+    public ArticleSnapshot snapshotFromEntity() {
+        return ArticleSnapshot.from(article);
+    }
+
+    @Benchmark
+    public Article addRequestToEntity() {
+        return addRequest.toEntity();
+    }
+}
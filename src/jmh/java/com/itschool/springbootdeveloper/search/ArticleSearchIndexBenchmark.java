@@ -0,0 +1,78 @@
+package com.itschool.springbootdeveloper.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 글 100만 건을 색인한 상태에서 검색 한 번의 지연 시간 측정
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ArticleSearchIndexBenchmark {
+
+    private static final String[] ENGLISH = {
+            "spring", "boot", "java", "jpa", "hibernate", "security", "cache", "index", "query", "thread",
+            "stream", "lambda", "gradle", "mysql", "redis", "kafka", "docker", "kotlin", "test", "mock"
+    };
+    private static final String[] KOREAN = {
+            "스프링", "부트", "자바", "데이터베이스", "트랜잭션", "캐시", "검색", "색인", "성능", "테스트",
+            "블로그", "게시글", "작성", "수정", "삭제", "조회", "서비스", "컨트롤러", "엔티티", "레포지토리"
+    };
+
+    @Param("1000000")
+    private int documents;
+
+    @Param({"spring", "스프링 캐시", "java 트랜잭션 성능"})
+    private String query;
+
+    private ArticleSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ArticleSearchIndex();
+        SplittableRandom random = new SplittableRandom(42); // 실행마다 같은 데이터
+
+        for (int id = 1; id <= documents; id++) {
+            index.index(id, words(random, 4), words(random, 40));
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> search() {
+        return index.search(query, 20);
+    }
+
+    @Benchmark
+    @Threads(4) // 읽기 락을 여러 스레드가 동시에 잡는 경우
+    public List<SearchHit> searchConcurrently() {
+        return index.search(query, 20);
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // 단어 빈도가 고르지 않도록 앞쪽 단어가 더 자주 나오게 선택
+            String[] words = random.nextBoolean() ? ENGLISH : KOREAN;
+            int rank = (int) (words.length * Math.pow(random.nextDouble(), 2));
+            text.append(words[rank]).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.itschool.springbootdeveloper.service;
+
+import com.itschool.springbootdeveloper.SpringBootDeveloperApplication;
+import com.itschool.springbootdeveloper.dto.AddArticleRequest;
+import com.itschool.springbootdeveloper.dto.ArticleSnapshot;
+import com.itschool.springbootdeveloper.dto.ArticleSummary;
+import com.itschool.springbootdeveloper.dto.ArticleVersion;
+import com.itschool.springbootdeveloper.dto.CursorPage;
+import com.itschool.springbootdeveloper.dto.UpdateArticleRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// BlogService 읽기/쓰기 경로 : MySQL 대신 내장 H2(메모리)로 애플리케이션 컨텍스트를 띄워서 측정
+// DB 왕복 비용은 실제 MySQL보다 작게 나오므로, 절대값보다 빌드 간 변화를 비교하는 용도
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BlogServiceBenchmark {
+
+    @Param("10000")
+    private int articles;
+
+    private ConfigurableApplicationContext context;
+    private BlogService blogService;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // application.yml의 MySQL 설정보다 우선하도록 커맨드 라인 인수로 전달
+        context = new SpringApplicationBuilder(SpringBootDeveloperApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.sql.init.mode=never", // data-h2.sql 예제 데이터 대신 아래에서 직접 추가
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        blogService = context.getBean(BlogService.class);
+
+        List<AddArticleRequest> requests = new ArrayList<>(articles);
+        for (int i = 0; i < articles; i++) {
+            requests.add(new AddArticleRequest("제목 " + i, ("본문 " + i + " ").repeat(20)));
+        }
+        ids = blogService.createAll(requests);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ArticleSnapshot findById() { // 대부분 캐시 적중
+        return blogService.findById(randomId());
+    }
+
+    @Benchmark
+    public CursorPage<ArticleSummary> findPage() {
+        return blogService.findPage(randomId(), BlogService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Long create() {
+        return blogService.create(new AddArticleRequest("새 글", "새 글 본문")).getId();
+    }
+
+    @Benchmark
+    public ArticleVersion update() {
+        return blogService.update(randomId(), new UpdateArticleRequest("수정한 제목", "수정한 본문"), null);
+    }
+
+    private long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.itschool.springbootdeveloper.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 요청 종류별 응답 시간(마이크로초)을 HdrHistogram으로 기록
+// Recorder는 여러 스레드가 락 없이 기록할 수 있고, 예열이 끝나면 reset()으로 그때까지의 기록을 버림
+final class LatencyRecorder {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> requests = new EnumMap<>(Operation.class); // 보정값을 뺀 실제 요청 수
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS));
+            requests.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    // expectedIntervalNanos가 있으면 밀린 요청들의 대기 시간까지 채워서 기록 (coordinated omission 보정)
+    void record(Operation operation, long latencyNanos, long expectedIntervalNanos, boolean success) {
+        long latencyMicros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS);
+        long intervalMicros = TimeUnit.NANOSECONDS.toMicros(expectedIntervalNanos);
+
+        if (intervalMicros > 0) {
+            recorders.get(operation).recordValueWithExpectedInterval(latencyMicros, intervalMicros);
+        } else {
+            recorders.get(operation).recordValue(latencyMicros);
+        }
+
+        requests.get(operation).increment();
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        requests.values().forEach(LongAdder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    // 측정 구간의 결과를 요청 종류별로 꺼냄 (호출 후 기록은 비워짐)
+    Map<Operation, Result> drain() {
+        Map<Operation, Result> results = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            results.put(operation, new Result(recorders.get(operation).getIntervalHistogram(),
+                    requests.get(operation).sum(), errors.get(operation).sum()));
+        }
+        return results;
+    }
+
+    static final class Result {
+        final Histogram histogram;
+        final long requests;
+        final long errors;
+
+        Result(Histogram histogram, long requests, long errors) {
+            this.histogram = histogram;
+            this.requests = requests;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.itschool.springbootdeveloper.loadtest;
+
+import com.itschool.springbootdeveloper.SpringBootDeveloperApplication;
+import com.itschool.springbootdeveloper.dto.AddArticleRequest;
+import com.itschool.springbootdeveloper.dto.AddUserRequest;
+import com.itschool.springbootdeveloper.service.BlogService;
+import com.itschool.springbootdeveloper.service.UserService;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 부하 테스트 : ./gradlew loadTest
+// H2 프로필(loadtest)로 애플리케이션을 띄우고, 글과 사용자를 추가한 뒤 로그인한 작업 스레드들로 요청을 보냄
+// 결과(처리량, p50/p95/p99/p99.9)를 출력하고 기준을 넘으면 0이 아닌 코드로 종료해서 빌드를 실패시킴
+public final class LoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    private volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+        System.out.println("load test: " + settings);
+
+        boolean passed;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootDeveloperApplication.class)
+                .profiles("loadtest")
+                .run(args)) {
+            passed = new LoadTest().run(context, settings);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(ConfigurableApplicationContext context, LoadTestSettings settings) throws Exception {
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        List<Long> articleIds = seedArticles(context.getBean(BlogService.class), settings.articles);
+        List<String> emails = seedUsers(context.getBean(UserService.class), settings.users);
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        List<Worker> workers = new ArrayList<>(settings.concurrency);
+        for (int i = 0; i < settings.concurrency; i++) {
+            Worker worker = new Worker(baseUrl, emails.get(i % emails.size()), PASSWORD, articleIds,
+                    recorder, settings.intervalNanos(), () -> running);
+            worker.login();
+            workers.add(worker);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency);
+        workers.forEach(executor::execute);
+
+        Thread.sleep(settings.warmup.toMillis());
+        recorder.reset(); // 예열 구간 기록은 버림
+        long start = System.nanoTime();
+
+        Thread.sleep(settings.duration.toMillis());
+        Map<Operation, LatencyRecorder.Result> results = recorder.drain();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        running = false;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        return report(results, seconds, settings);
+    }
+
+    private static List<Long> seedArticles(BlogService blogService, int count) {
+        List<AddArticleRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new AddArticleRequest("제목 " + i, ("본문 " + i + " ").repeat(20)));
+        }
+        return blogService.createAll(requests);
+    }
+
+    private static List<String> seedUsers(UserService userService, int count) {
+        List<String> emails = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AddUserRequest request = new AddUserRequest();
+            request.setEmail("loadtest-" + i + "@example.com");
+            request.setPassword(PASSWORD);
+            userService.save(request);
+            emails.add(request.getEmail());
+        }
+        return emails;
+    }
+
+    // 요청 종류별 결과와 전체 결과를 출력하고, 전체 결과를 기준과 비교
+    private static boolean report(Map<Operation, LatencyRecorder.Result> results, double seconds, LoadTestSettings settings) {
+        Histogram total = new Histogram(3);
+        long totalRequests = 0;
+        long totalErrors = 0;
+
+        System.out.printf("%n%-12s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+
+        for (Map.Entry<Operation, LatencyRecorder.Result> entry : results.entrySet()) {
+            LatencyRecorder.Result result = entry.getValue();
+            total.add(result.histogram);
+            totalRequests += result.requests;
+            totalErrors += result.errors;
+            printRow(entry.getKey().name(), result.histogram, result.requests, result.errors, seconds);
+        }
+        printRow("TOTAL", total, totalRequests, totalErrors, seconds);
+
+        double throughput = totalRequests / seconds;
+        double errorRate = totalRequests == 0 ? 1 : (double) totalErrors / totalRequests;
+        double p99 = millis(total, 99);
+        double p999 = millis(total, 99.9);
+
+        List<String> failures = new ArrayList<>();
+        if (p99 > settings.maxP99Millis) {
+            failures.add(String.format("p99 %.2fms > %.2fms", p99, settings.maxP99Millis));
+        }
+        if (p999 > settings.maxP999Millis) {
+            failures.add(String.format("p99.9 %.2fms > %.2fms", p999, settings.maxP999Millis));
+        }
+        if (errorRate > settings.maxErrorRate) {
+            failures.add(String.format("error rate %.4f > %.4f", errorRate, settings.maxErrorRate));
+        }
+        if (throughput < settings.minThroughput) {
+            failures.add(String.format("throughput %.1f/s < %.1f/s", throughput, settings.minThroughput));
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("\nload test passed");
+            return true;
+        }
+        System.out.println("\nload test failed: " + String.join(", ", failures));
+        return false;
+    }
+
+    private static void printRow(String name, Histogram histogram, long requests, long errors, double seconds) {
+        System.out.printf("%-12s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, requests, errors, requests / seconds,
+                millis(histogram, 50), millis(histogram, 95), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0; // 마이크로초 -> 밀리초
+    }
+}
@@ -0,0 +1,43 @@
+package com.itschool.springbootdeveloper.loadtest;
+
+import java.time.Duration;
+
+// 부하 테스트 설정 : 시스템 프로퍼티(loadTest.*)로 변경 (./gradlew loadTest -PloadTest.concurrency=32)
+final class LoadTestSettings {
+
+    final int articles = intProperty("articles", 1000); // 시작 전에 추가할 글 수
+    final int users = intProperty("users", 20); // 시작 전에 가입시킬 사용자 수 (작업 스레드가 나눠서 로그인)
+    final int concurrency = intProperty("concurrency", 16); // 동시에 요청을 보내는 작업 스레드 수
+    final Duration warmup = Duration.parse(stringProperty("warmup", "PT10S")); // 측정에서 제외하는 예열 시간
+    final Duration duration = Duration.parse(stringProperty("duration", "PT30S")); // 측정 시간
+    final int rate = intProperty("rate", 0); // 전체 목표 요청 수/초 (0이면 응답을 받는 즉시 다음 요청)
+
+    // 기준 : 하나라도 넘으면 빌드 실패
+    final double maxP99Millis = doubleProperty("maxP99Millis", 250);
+    final double maxP999Millis = doubleProperty("maxP999Millis", 1000);
+    final double maxErrorRate = doubleProperty("maxErrorRate", 0.001);
+    final double minThroughput = doubleProperty("minThroughput", 0); // 초당 요청 수 (0이면 검사하지 않음)
+
+    // 목표 요청 수가 있을 때 작업 스레드 하나가 요청을 보내야 하는 간격
+    long intervalNanos() {
+        return rate <= 0 ? 0 : Duration.ofSeconds(concurrency).toNanos() / rate;
+    }
+
+    @Override
+    public String toString() {
+        return "articles=" + articles + ", users=" + users + ", concurrency=" + concurrency +
+                ", warmup=" + warmup + ", duration=" + duration + ", rate=" + (rate == 0 ? "unbounded" : rate + "/s");
+    }
+
+    private static String stringProperty(String name, String defaultValue) {
+        return System.getProperty("loadTest." + name, defaultValue);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(stringProperty(name, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        return Double.parseDouble(stringProperty(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.itschool.springbootdeveloper.loadtest;
+
+// 요청 종류와 비율 (가중치 합 100) : 읽기 위주 블로그 트래픽
+enum Operation {
+    LIST_API(25),
+    READ_API(30),
+    CREATE_API(8),
+    UPDATE_API(6),
+    DELETE_API(6),
+    LIST_PAGE(10),
+    READ_PAGE(15);
+
+    private static final Operation[] VALUES = values();
+
+    private final int weight;
+
+    Operation(int weight) {
+        this.weight = weight;
+    }
+
+    // 0 이상 100 미만의 값을 가중치에 따라 요청 종류로 변환
+    static Operation pick(int percentile) {
+        int sum = 0;
+        for (Operation operation : VALUES) {
+            sum += operation.weight;
+            if (percentile < sum) {
+                return operation;
+            }
+        }
+        return VALUES[VALUES.length - 1];
+    }
+}
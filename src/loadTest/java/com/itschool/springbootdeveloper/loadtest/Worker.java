@@ -0,0 +1,154 @@
+package com.itschool.springbootdeveloper.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+// 작업 스레드 하나 : 사용자 한 명으로 로그인해서 세션 쿠키를 유지한 채 요청을 반복
+final class Worker implements Runnable {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final List<Long> seededIds; // 수정/조회 대상 (삭제하지 않음)
+    private final Deque<Long> createdIds = new ArrayDeque<>(); // 이 작업 스레드가 만든 글만 삭제
+    private final LatencyRecorder recorder;
+    private final long intervalNanos;
+    private final BooleanSupplier running;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+
+    Worker(String baseUrl, String email, String password, List<Long> seededIds,
+           LatencyRecorder recorder, long intervalNanos, BooleanSupplier running) {
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = password;
+        this.seededIds = seededIds;
+        this.recorder = recorder;
+        this.intervalNanos = intervalNanos;
+        this.running = running;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager()) // JSESSIONID 유지
+                .followRedirects(HttpClient.Redirect.NEVER) // 로그인 페이지로 리다이렉트되면 실패로 집계
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    // 폼 로그인 : 성공하면 /articles 로 리다이렉트
+    void login() throws IOException, InterruptedException {
+        String form = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8) +
+                "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+
+        HttpResponse<Void> response = client.send(request("/login")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.discarding());
+
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IllegalStateException("login failed: " + email + " (" + response.statusCode() + " " + location + ")");
+        }
+    }
+
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+
+        while (running.getAsBoolean()) {
+            if (intervalNanos > 0) { // 목표 요청 수에 맞춰 다음 요청 시각까지 대기
+                LockSupport.parkNanos(next - System.nanoTime());
+                next += intervalNanos;
+            }
+
+            Operation operation = Operation.pick(ThreadLocalRandom.current().nextInt(100));
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            recorder.record(operation, System.nanoTime() - start, intervalNanos, success);
+        }
+    }
+
+    private boolean execute(Operation operation) throws IOException, InterruptedException {
+        switch (operation) {
+            case LIST_API:
+                return get("/api/articles?limit=20");
+            case READ_API:
+                return get("/api/articles/" + randomSeededId());
+            case CREATE_API:
+                return create();
+            case UPDATE_API:
+                return send(request("/api/articles/" + randomSeededId())
+                        .header("Content-Type", "application/json")
+                        .PUT(json("{\"title\":\"수정한 제목\",\"content\":\"수정한 본문\"}"))
+                        .build()).statusCode() == 200;
+            case DELETE_API:
+                Long id = createdIds.pollFirst();
+                if (id == null) { // 지울 글이 없으면 먼저 만듦
+                    return create();
+                }
+                return send(request("/api/articles/" + id).DELETE().build()).statusCode() == 200;
+            case LIST_PAGE:
+                return get("/articles");
+            case READ_PAGE:
+                return get("/articles/" + randomSeededId());
+            default:
+                throw new IllegalArgumentException(operation.name());
+        }
+    }
+
+    private boolean create() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(request("/api/articles")
+                .header("Content-Type", "application/json")
+                .POST(json("{\"title\":\"부하 테스트\",\"content\":\"부하 테스트 본문\"}"))
+                .build());
+
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        createdIds.addLast(objectMapper.readTree(response.body()).get("id").asLong());
+        return true;
+    }
+
+    private boolean get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET().build()).statusCode() == 200;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString()); // 본문까지 모두 받은 시점으로 측정
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8);
+    }
+
+    private long randomSeededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+}
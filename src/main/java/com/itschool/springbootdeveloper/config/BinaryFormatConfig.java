@@ -0,0 +1,34 @@
+package com.itschool.springbootdeveloper.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// 서버 간 통신용 바이너리 인코딩 : Accept / Content-Type이 application/cbor, application/x-jackson-smile 이면 JSON 대신 사용
+// 스프링 MVC 기본 컨버터도 라이브러리만 있으면 등록되지만 부트의 Jackson 설정(spring.jackson.*, 모듈)이 빠지므로
+// JSON과 같은 빌더로 만든 컨버터로 바꿔 끼움 (같은 종류의 기본 컨버터 자리에 들어가므로 JSON이 계속 먼저 선택됨)
+@Configuration
+public class BinaryFormatConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+    // 내보내기처럼 값을 하나씩 이어 쓰는 CBOR 스트림 (RFC 8742)
+    public static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+    public static final MediaType APPLICATION_CBOR_SEQ = MediaType.valueOf(APPLICATION_CBOR_SEQ_VALUE);
+
+    // Jackson2ObjectMapperBuilder 빈은 prototype이라 주입받을 때마다 새 빌더
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,67 @@
+package com.itschool.springbootdeveloper.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itschool.springbootdeveloper.dto.ArticleSnapshot;
+import com.itschool.springbootdeveloper.view.ArticlePageFragment;
+import com.itschool.springbootdeveloper.view.RenderedFragment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+// 애플리케이션 내부(in-process) 캐시 설정
+@Configuration
+public class CacheConfig {
+
+    // 글 단건 조회 캐시 : 최대 개수와 TTL로 크기를 제한하고, 적중/실패/제거 횟수를 기록
+    @Bean
+    public Cache<Long, ArticleSnapshot> articleCache(
+            @Value("${blog.cache.article.maximum-size:10000}") long maximumSize,
+            @Value("${blog.cache.article.expire-after-write:10m}") Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    // 로그인 사용자 정보 캐시 : 이메일 -> 엔티티와 분리된 UserDetails 스냅샷
+    @Bean
+    public Cache<String, UserDetails> userDetailsCache(
+            @Value("${blog.cache.user-details.maximum-size:10000}") long maximumSize,
+            @Value("${blog.cache.user-details.expire-after-write:5m}") Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    // 렌더링된 글 카드/본문 HTML 조각 : "card:{id}", "body:{id}" -> 버전별 HTML
+    @Bean
+    public Cache<String, RenderedFragment> fragmentCache(
+            @Value("${blog.cache.fragment.maximum-size:20000}") long maximumSize,
+            @Value("${blog.cache.fragment.expire-after-write:10m}") Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    // 렌더링된 글 목록 페이지 : 커서(afterId) -> 페이지 HTML
+    // 글이 바뀌면 그 글이 보이는 페이지만 제거하므로, 다른 서버에서 바뀐 글을 위해 TTL을 짧게 둠
+    @Bean
+    public Cache<Long, ArticlePageFragment> articlePageCache(
+            @Value("${blog.cache.article-page.maximum-size:1000}") long maximumSize,
+            @Value("${blog.cache.article-page.expire-after-write:1m}") Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
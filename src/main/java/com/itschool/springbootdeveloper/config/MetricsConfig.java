@@ -0,0 +1,39 @@
+package com.itschool.springbootdeveloper.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.itschool.springbootdeveloper.dto.ArticleSnapshot;
+import com.itschool.springbootdeveloper.view.ArticlePageFragment;
+import com.itschool.springbootdeveloper.view.RenderedFragment;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
+
+// 메트릭 설정 (/actuator/prometheus 로 노출)
+// HTTP 요청(http.server.requests), 커넥션 풀(hikaricp.*), Hibernate 통계(hibernate.*)는 스프링 부트가 자동으로 등록
+@Configuration
+public class MetricsConfig {
+
+    // @Timed가 붙은 클래스/메서드의 실행 시간을 타이머로 기록 (BlogService -> blog.service)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // CacheConfig의 Caffeine 캐시 적중/실패/제거 횟수 (cache.gets, cache.evictions 등)
+    @Bean
+    public MeterBinder cacheMetrics(Cache<Long, ArticleSnapshot> articleCache,
+                                    Cache<String, UserDetails> userDetailsCache,
+                                    Cache<String, RenderedFragment> fragmentCache,
+                                    Cache<Long, ArticlePageFragment> articlePageCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, articleCache, "article");
+            CaffeineCacheMetrics.monitor(registry, userDetailsCache, "userDetails");
+            CaffeineCacheMetrics.monitor(registry, fragmentCache, "fragment");
+            CaffeineCacheMetrics.monitor(registry, articlePageCache, "articlePage");
+        };
+    }
+}
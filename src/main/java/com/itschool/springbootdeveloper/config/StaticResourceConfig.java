@@ -0,0 +1,34 @@
+package com.itschool.springbootdeveloper.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.regex.Pattern;
+
+// 정적 파일 캐시 설정
+// 템플릿의 @{/js/article.js}는 리소스 체인이 내용 해시가 붙은 경로(/js/article-<md5>.js)로 바꿔줌 (application.yml)
+// 해시가 붙은 경로는 내용이 바뀌면 경로도 바뀌므로 브라우저/CDN이 1년 동안 다시 확인하지 않고 재사용하게 함
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache"; // 해시가 없는 경로는 매번 Last-Modified로 확인
+    private static final Pattern CONTENT_HASH = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$"); // ContentVersionStrategy의 md5
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                boolean hashed = CONTENT_HASH.matcher(request.getRequestURI()).find();
+                response.setHeader(HttpHeaders.CACHE_CONTROL, hashed ? IMMUTABLE : REVALIDATE);
+                return true;
+            }
+        }).addPathPatterns("/js/**", "/css/**");
+    }
+}
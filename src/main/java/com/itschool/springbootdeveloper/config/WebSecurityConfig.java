@@ -1,19 +1,41 @@
 package com.itschool.springbootdeveloper.config;
 
+import com.itschool.springbootdeveloper.config.jwt.JwtProperties;
+import com.itschool.springbootdeveloper.config.jwt.TokenAuthenticationFilter;
+import com.itschool.springbootdeveloper.config.jwt.TokenLoginSuccessHandler;
+import com.itschool.springbootdeveloper.config.jwt.TokenLogoutHandler;
+import com.itschool.springbootdeveloper.config.jwt.TokenProvider;
+import com.itschool.springbootdeveloper.config.password.BusyAwareAuthenticationFailureHandler;
+import com.itschool.springbootdeveloper.config.password.BusyAwareAuthenticationProvider;
+import com.itschool.springbootdeveloper.config.ratelimit.AdmissionControlFilter;
+import com.itschool.springbootdeveloper.config.ratelimit.RateLimitProperties;
 import com.itschool.springbootdeveloper.service.UserDetailService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -21,6 +43,9 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class WebSecurityConfig {
 
     private final UserDetailService userDetailService;
+    private final JwtProperties jwtProperties;
+    private final TokenProvider tokenProvider;
+    private final RateLimitProperties rateLimitProperties;
 
     // 스프링 시큐리티 기능 비활성화 : 인증과 인가를 적용하지 않는 곳 명시
     @Bean
@@ -33,42 +58,78 @@ public class WebSecurityConfig {
 
     // 특정 HTTP 요청에 대한 웹 기반 보안 구성
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        return http
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationManager authenticationManager,
+                                           @Value("${blog.management.scrape-addresses:127.0.0.1,::1}") List<String> scrapeAddresses)
+            throws Exception {
+        http
+                // 아래에서 등록한 인증 관리자를 폼 로그인에 사용 (지정하지 않으면 시큐리티가 기본 DaoAuthenticationProvider를 따로 만듦)
+                .authenticationManager(authenticationManager)
                 .authorizeHttpRequests(auth -> auth // 인증, 인가 설정
+                        // 비동기 응답(SSE, 스트리밍)이 끝날 때의 재디스패치는 처음 요청에서 이미 인가됨 (토큰 필터는 재디스패치에서 다시 실행되지 않음)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 new AntPathRequestMatcher("/login"),
                                 new AntPathRequestMatcher("/signup"),
-                                new AntPathRequestMatcher("/user")
+                                new AntPathRequestMatcher("/user"),
+                                new AntPathRequestMatcher("/api/token"), // 토큰 재발급 (무상태 모드)
+                                EndpointRequest.to(HealthEndpoint.class) // 헬스 체크
                         ).permitAll()
+                        .requestMatchers(EndpointRequest.to(PrometheusScrapeEndpoint.class)) // 메트릭 수집
+                        .access(fromAddresses(scrapeAddresses))
                         .anyRequest().authenticated())
                 .formLogin(formLogin -> formLogin // 폼 기반 로그인 설정
                         .loginPage("/login")
                         .defaultSuccessUrl("/articles")
+                        .failureHandler(new BusyAwareAuthenticationFailureHandler("/login?error")) // 해싱 풀 포화 시 503
                 )
                 .logout(logout -> logout // 로그아웃 설정
                         .logoutSuccessUrl("/login")
                         .invalidateHttpSession(true)
                 )
-                .csrf(AbstractHttpConfigurer::disable) // csrf 비활성화
-                .build();
+                .csrf(AbstractHttpConfigurer::disable); // csrf 비활성화
+
+        if (jwtProperties.isEnabled()) { // 무상태 모드 : 세션 대신 서명된 토큰으로 인증
+            http
+                    .sessionManagement(session -> session
+                            .sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // 세션을 만들지도, 사용하지도 않음
+                    .addFilterBefore(new TokenAuthenticationFilter(tokenProvider, jwtProperties),
+                            UsernamePasswordAuthenticationFilter.class)
+                    .formLogin(formLogin -> formLogin
+                            .successHandler(new TokenLoginSuccessHandler(tokenProvider, jwtProperties, "/articles")))
+                    .logout(logout -> logout
+                            .addLogoutHandler(new TokenLogoutHandler(tokenProvider, jwtProperties)));
+        }
+
+        if (rateLimitProperties.isEnabled()) { // 요청 수 제한, 과부하 시 거절
+            // 같은 위치에 추가한 필터는 추가한 순서대로 실행되므로 토큰 인증 다음, 로그인 처리 전에 실행됨 (사용자별로 셀 수 있음)
+            http.addFilterBefore(new AdmissionControlFilter(rateLimitProperties), UsernamePasswordAuthenticationFilter.class);
+        }
+
+        return http.build();
+    }
+
+    // 허용한 주소(프로메테우스 서버)에서 온 요청만 통과 : 내부 메트릭(엔드포인트별 지연, 쿼리 수 등)을 외부에 노출하지 않음
+    // 프록시 뒤에서는 server.forward-headers-strategy로 원래 클라이언트 주소가 remoteAddr가 되도록 해야 함
+    private static AuthorizationManager<RequestAuthorizationContext> fromAddresses(List<String> addresses) {
+        List<IpAddressMatcher> matchers = addresses.stream()
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        return (authentication, context) -> new AuthorizationDecision(
+                matchers.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
     }
-    
+
     // 인증 관리자 관련 설정 : 사용자 정보를 가져올 서비스를 재정의하거나 인증방법 등을 설정
     @Bean
     public AuthenticationManager authenticationManager(HttpSecurity http,
-                                                       BCryptPasswordEncoder bCryptPasswordEncoder,
+                                                       PasswordEncoder passwordEncoder,
                                                        UserDetailService userDetailService) throws Exception {
 
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new BusyAwareAuthenticationProvider(); // 해싱 풀 포화를 인증 예외로 변환
         authProvider.setUserDetailsService(this.userDetailService); // 사용자 정보 서비스 설정
-        authProvider.setPasswordEncoder(bCryptPasswordEncoder);
+        authProvider.setPasswordEncoder(passwordEncoder); // PasswordHashingConfig에서 등록한 인코더
+        authProvider.setUserDetailsPasswordService(this.userDetailService); // 오래된 cost의 해시는 로그인 시 다시 해싱
         return new ProviderManager(authProvider);
     }
-
-    // 패스워드 인코더로 사용할 빈 등록
-    @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
@@ -0,0 +1,61 @@
+package com.itschool.springbootdeveloper.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// blog.datasource.read-replicas.enabled=true일 때 기본 DataSource 대신 주 DB/복제 DB 라우팅 DataSource를 등록
+// 주 DB 풀은 스프링 부트와 같은 spring.datasource(.hikari) 설정으로 만들고, 풀들이 빈이 아니므로 메트릭은 직접 연결
+// (DataSourceProxyConfig가 이 빈 전체를 감싸므로 느린 쿼리 로그, SQL 수 집계는 그대로 동작)
+@Configuration
+@ConditionalOnProperty(name = "blog.datasource.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReadReplicaProperties properties,
+                                 ReadYourWritesTracker readYourWrites, Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(Metrics.globalRegistry));
+
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            replicas.add(new ReplicaNode("replica-" + i, replicaPool("replica-" + i, properties.getNodes().get(i), properties)));
+        }
+
+        return new ReadWriteRoutingDataSource(primary, replicas, readYourWrites, properties.getHealthCheckInterval());
+    }
+
+    // 복제 DB 풀 : 처음 커넥션을 요청할 때 연결하므로 복제 DB가 내려가 있어도 애플리케이션은 시작됨
+    private static HikariDataSource replicaPool(String name, ReadReplicaProperties.Node node, ReadReplicaProperties properties) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(node.getUrl())
+                .username(node.getUsername())
+                .password(node.getPassword())
+                .build();
+        pool.setPoolName(name);
+        pool.setReadOnly(true);
+        pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+        pool.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(Metrics.globalRegistry));
+        return pool;
+    }
+}
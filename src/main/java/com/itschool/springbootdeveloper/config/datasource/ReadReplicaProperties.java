@@ -0,0 +1,34 @@
+package com.itschool.springbootdeveloper.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// 읽기 전용 복제 DB 설정 (application.yml의 blog.datasource.read-replicas 값과 매핑)
+// 주 DB(쓰기)는 기존처럼 spring.datasource 설정을 사용
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("blog.datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false; // true면 읽기 전용 트랜잭션을 복제 DB로 보냄
+    private Duration stickyWindow = Duration.ofSeconds(5); // 쓰기 후 이 시간 동안은 같은 사용자의 읽기도 주 DB로 보냄 (복제 지연보다 길게)
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration connectionTimeout = Duration.ofSeconds(1); // 복제 DB 커넥션을 이 시간 안에 못 얻으면 다른 DB로 넘어감
+    private int maximumPoolSize = 10; // 복제 DB마다의 커넥션 풀 크기
+    private List<Node> nodes = new ArrayList<>();
+
+    @Setter
+    @Getter
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
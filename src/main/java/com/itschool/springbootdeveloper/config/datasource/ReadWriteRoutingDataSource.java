@@ -0,0 +1,145 @@
+package com.itschool.springbootdeveloper.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제 DB로, 나머지는 주 DB로 보내는 DataSource
+// 트랜잭션 매니저는 readOnly 표시를 하기 전에 커넥션을 요청하므로, 실제 커넥션은 첫 쿼리 때 얻도록(LazyConnectionDataSourceProxy) 감쌈
+// - 복제 DB는 라운드 로빈으로 고르고, 커넥션을 못 얻으면 다음 복제 DB, 모두 안 되면 주 DB에서 읽음
+// - 쓰기 트랜잭션이 커밋되면 ReadYourWritesTracker에 기록해서 잠시 동안 그 사용자의 읽기는 주 DB로 보냄
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final Router router;
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaNode> replicas,
+                                      ReadYourWritesTracker readYourWrites, Duration healthCheckInterval) {
+        this(new Router(primary, replicas, readYourWrites), healthCheckInterval);
+    }
+
+    private ReadWriteRoutingDataSource(Router router, Duration healthCheckInterval) {
+        super(router);
+        this.router = router;
+
+        for (ReplicaNode replica : router.replicas) {
+            Metrics.gauge("jdbc.replica.healthy", Tags.of("replica", replica.getName()), replica,
+                    node -> node.isHealthy() ? 1 : 0);
+        }
+
+        // 제외된 복제 DB가 살아났는지 확인 (요청 스레드가 연결 시간 초과를 기다리지 않도록 별도 스레드에서)
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(() -> router.replicas.forEach(ReplicaNode::check),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return router.replicas;
+    }
+
+    @Override
+    public void close() throws IOException {
+        healthChecker.shutdownNow();
+
+        List<DataSource> dataSources = new ArrayList<>();
+        dataSources.add(router.primary);
+        router.replicas.forEach(replica -> dataSources.add(replica.getDataSource()));
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Router extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final List<ReplicaNode> replicas;
+        private final ReadYourWritesTracker readYourWrites;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private final Counter routedToPrimary = Metrics.counter("jdbc.connections.routed", "target", "primary");
+        private final Counter routedToReplica = Metrics.counter("jdbc.connections.routed", "target", "replica");
+        private final Counter fallbackToPrimary = Metrics.counter("jdbc.connections.routed", "target", "fallback");
+
+        private Router(DataSource primary, List<ReplicaNode> replicas, ReadYourWritesTracker readYourWrites) {
+            this.primary = primary;
+            this.replicas = List.copyOf(replicas);
+            this.readYourWrites = readYourWrites;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                recordWriteAfterCommit();
+                routedToPrimary.increment();
+                return primary.getConnection();
+            }
+
+            if (replicas.isEmpty() || readYourWrites.requiresPrimary()) {
+                routedToPrimary.increment();
+                return primary.getConnection();
+            }
+
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                ReplicaNode replica = replicas.get((start + i) % replicas.size());
+                if (!replica.isHealthy()) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.getConnection();
+                    routedToReplica.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+
+            fallbackToPrimary.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("routing data source uses the credentials of each pool");
+        }
+
+        // 쓰기 트랜잭션이면 커밋된 뒤에 기록 (트랜잭션 밖의 커넥션은 읽기일 수도 있으므로 기록하지 않음)
+        private void recordWriteAfterCommit() {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()
+                    || !TransactionSynchronizationManager.isActualTransactionActive()) {
+                return;
+            }
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.recordWrite();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.itschool.springbootdeveloper.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// 쓰기 직후의 읽기를 주 DB로 보내서, 복제 지연 때문에 방금 쓴 내용이 안 보이는 일을 막음 (read-your-writes)
+// 쓴 사용자(로그인 전이면 세션)만 stickyWindow 동안 주 DB에서 읽고, 다른 사용자는 계속 복제 DB에서 읽음
+// 노드마다 따로 가지는 메모리 구조라 다른 노드로 간 요청에는 적용되지 않음
+@Component
+public class ReadYourWritesTracker {
+
+    private static final long MAXIMUM_WRITERS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters; // 사용자/세션 키 -> stickyWindow 후 만료
+    private final long windowNanos;
+    private final Ticker ticker;
+    private final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+    private volatile long lastWriteExpiresAt; // 이 서버에서 마지막 쓰기의 stickyWindow가 끝나는 시각 (nanoTime)
+
+    @Autowired
+    public ReadYourWritesTracker(ReadReplicaProperties properties) {
+        this(properties.getStickyWindow(), Ticker.systemTicker());
+    }
+
+    ReadYourWritesTracker(Duration stickyWindow, Ticker ticker) {
+        this.windowNanos = stickyWindow.toNanos();
+        this.ticker = ticker;
+        this.lastWriteExpiresAt = ticker.read();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_WRITERS)
+                .expireAfterWrite(stickyWindow)
+                .ticker(ticker)
+                .build();
+    }
+
+    // 현재 요청의 사용자가 쓰기를 커밋했을 때 호출
+    public void recordWrite() {
+        lastWriteExpiresAt = ticker.read() + windowNanos;
+
+        String key = currentKey();
+        if (key != null) {
+            recentWriters.put(key, Boolean.TRUE);
+        }
+    }
+
+    // 현재 스레드의 읽기를 주 DB로 보내야 하는지
+    public boolean requiresPrimary() {
+        if (primaryRequired.get() != null) {
+            return true;
+        }
+
+        String key = currentKey();
+        return key != null && recentWriters.getIfPresent(key) != null;
+    }
+
+    // 캐시에 넣을 값을 읽을 때 사용 : 최근 이 서버에서 쓰기가 있었으면 주 DB에서 읽음
+    // 변경 직후 캐시를 비운 다음, 아직 복제되지 않은 옛 값을 복제 DB에서 읽어 다시 캐싱하는 것을 막음
+    public <T> T readFresh(Supplier<T> loader) {
+        if (ticker.read() - lastWriteExpiresAt >= 0) {
+            return loader.get();
+        }
+
+        Boolean previous = primaryRequired.get();
+        primaryRequired.set(Boolean.TRUE);
+        try {
+            return loader.get();
+        } finally {
+            if (previous == null) {
+                primaryRequired.remove();
+            }
+        }
+    }
+
+    // 로그인한 사용자면 이메일, 아니면 이미 만들어진 세션 id (요청 밖이면 null)
+    private static String currentKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpSession session = attributes.getRequest().getSession(false);
+            if (session != null) {
+                return "session:" + session.getId();
+            }
+        }
+        return null;
+    }
+}
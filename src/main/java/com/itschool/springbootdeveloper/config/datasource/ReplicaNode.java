@@ -0,0 +1,56 @@
+package com.itschool.springbootdeveloper.config.datasource;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// 복제 DB 하나 : 커넥션을 못 얻으면 바로 제외하고, 주기적인 상태 확인이 성공하면 다시 사용
+@Slf4j
+public class ReplicaNode {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    @Getter
+    private final String name;
+    @Getter
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    void markDown(SQLException e) {
+        if (healthy) {
+            log.warn("read replica {} is down, reads go to other replicas or the primary: {}", name, e.getMessage());
+        }
+        healthy = false;
+    }
+
+    // 커넥션을 얻어서 유효한지 확인
+    void check() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                throw new SQLException("connection is not valid");
+            }
+            if (!healthy) {
+                log.info("read replica {} is back", name);
+            }
+            healthy = true;
+        } catch (SQLException e) {
+            markDown(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 무상태(stateless) 토큰 인증 설정 (application.yml의 blog.security.token 값과 매핑)
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("blog.security.token")
+public class JwtProperties {
+
+    private boolean enabled = false; // true면 세션 대신 서명된 토큰으로 인증
+    private String issuer = "springboot-developer";
+    private String secretKey; // HMAC-SHA256 서명 키, 32바이트 이상이고 여러 노드가 같은 값을 써야 함 (enabled인데 비어 있으면 시작 실패)
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+    private Duration refreshTokenTtl = Duration.ofDays(1);
+    private boolean cookieSecure = false; // HTTPS에서만 쿠키 전송
+}
@@ -0,0 +1,81 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+// 요청의 access 토큰(Authorization: Bearer 헤더 또는 쿠키)을 검증해서 인증 정보를 설정하는 필터
+// 서명만 확인하므로 DB나 세션을 조회하지 않음
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String TOKEN_PREFIX = "Bearer ";
+
+    private final TokenProvider tokenProvider;
+    private final JwtProperties jwtProperties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Optional<TokenClaims> claims = tokenProvider.validate(resolveAccessToken(request))
+                .filter(TokenClaims::isAccess);
+
+        if (claims.isEmpty()) {
+            claims = refreshFromCookie(request, response);
+        }
+
+        claims.ifPresent(TokenAuthenticationFilter::authenticate);
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String resolveAccessToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(TOKEN_PREFIX)) {
+            return authorization.substring(TOKEN_PREFIX.length());
+        }
+        return TokenCookies.read(request, TokenCookies.ACCESS_TOKEN);
+    }
+
+    // 브라우저 : access 쿠키가 만료됐고 refresh 쿠키가 유효하면 새 access/refresh 토큰을 쿠키로 발급
+    // 쓴 refresh 토큰은 폐기 (TokenApiController와 같이 교체 -> 탈취된 refresh 토큰은 한 번만 쓸 수 있음)
+    // 같은 토큰으로 동시에 들어온 요청 중 폐기를 선점하지 못한 요청은 인증하지 않음
+    private Optional<TokenClaims> refreshFromCookie(HttpServletRequest request, HttpServletResponse response) {
+        Optional<TokenClaims> refresh = tokenProvider.validate(TokenCookies.read(request, TokenCookies.REFRESH_TOKEN))
+                .filter(TokenClaims::isRefresh)
+                .filter(tokenProvider::revoke);
+
+        refresh.ifPresent(claims -> {
+            List<GrantedAuthority> authorities =
+                    AuthorityUtils.createAuthorityList(claims.getAuthorities().toArray(String[]::new));
+            TokenCookies.write(response, TokenCookies.ACCESS_TOKEN,
+                    tokenProvider.generateAccessToken(claims.getSubject(), authorities),
+                    jwtProperties.getAccessTokenTtl(), jwtProperties.isCookieSecure());
+            TokenCookies.write(response, TokenCookies.REFRESH_TOKEN,
+                    tokenProvider.generateRefreshToken(claims.getSubject(), authorities),
+                    jwtProperties.getRefreshTokenTtl(), jwtProperties.isCookieSecure());
+        });
+
+        return refresh;
+    }
+
+    private static void authenticate(TokenClaims claims) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(claims.getSubject(), null,
+                AuthorityUtils.createAuthorityList(claims.getAuthorities().toArray(String[]::new))));
+        SecurityContextHolder.setContext(context);
+    }
+}
@@ -0,0 +1,29 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 검증이 끝난 토큰의 내용
+@AllArgsConstructor
+@Getter
+public class TokenClaims {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private final String subject; // 사용자 email
+    private final String type; // access 또는 refresh
+    private final long tokenId; // 폐기(revocation) 목록에서 사용하는 토큰 고유 값
+    private final long expiresAt; // 만료 시각 (epoch seconds)
+    private final List<String> authorities;
+
+    public boolean isAccess() {
+        return ACCESS.equals(type);
+    }
+
+    public boolean isRefresh() {
+        return REFRESH.equals(type);
+    }
+}
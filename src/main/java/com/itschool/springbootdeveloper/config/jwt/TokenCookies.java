@@ -0,0 +1,48 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+
+import java.time.Duration;
+
+// 브라우저용 토큰 쿠키 읽기/쓰기 (HttpOnly라 자바스크립트에서 읽을 수 없음)
+public final class TokenCookies {
+
+    public static final String ACCESS_TOKEN = "access_token";
+    public static final String REFRESH_TOKEN = "refresh_token";
+
+    private TokenCookies() {
+    }
+
+    public static String read(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+
+        for (Cookie cookie : cookies) {
+            if (name.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    public static void write(HttpServletResponse response, String name, String value, Duration maxAge, boolean secure) {
+        ResponseCookie cookie = ResponseCookie.from(name, value)
+                .path("/")
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    public static void clear(HttpServletResponse response, String name, boolean secure) {
+        write(response, name, "", Duration.ZERO, secure);
+    }
+}
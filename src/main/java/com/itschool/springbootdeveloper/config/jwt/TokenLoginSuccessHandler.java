@@ -0,0 +1,37 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
+
+import java.io.IOException;
+
+// 폼 로그인 성공 시 세션 대신 access/refresh 토큰을 쿠키로 발급하고 기본 페이지로 이동
+public class TokenLoginSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
+
+    private final TokenProvider tokenProvider;
+    private final JwtProperties jwtProperties;
+
+    public TokenLoginSuccessHandler(TokenProvider tokenProvider, JwtProperties jwtProperties, String defaultTargetUrl) {
+        super(defaultTargetUrl);
+        this.tokenProvider = tokenProvider;
+        this.jwtProperties = jwtProperties;
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws IOException, ServletException {
+        String subject = authentication.getName();
+
+        TokenCookies.write(response, TokenCookies.ACCESS_TOKEN,
+                tokenProvider.generateAccessToken(subject, authentication.getAuthorities()),
+                jwtProperties.getAccessTokenTtl(), jwtProperties.isCookieSecure());
+        TokenCookies.write(response, TokenCookies.REFRESH_TOKEN,
+                tokenProvider.generateRefreshToken(subject, authentication.getAuthorities()),
+                jwtProperties.getRefreshTokenTtl(), jwtProperties.isCookieSecure());
+
+        super.onAuthenticationSuccess(request, response, authentication);
+    }
+}
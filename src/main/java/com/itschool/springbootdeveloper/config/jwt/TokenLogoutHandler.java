@@ -0,0 +1,23 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+
+// 로그아웃 시 쿠키의 토큰을 폐기 목록에 올리고 쿠키를 삭제
+@RequiredArgsConstructor
+public class TokenLogoutHandler implements LogoutHandler {
+
+    private final TokenProvider tokenProvider;
+    private final JwtProperties jwtProperties;
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        for (String name : new String[]{TokenCookies.ACCESS_TOKEN, TokenCookies.REFRESH_TOKEN}) {
+            tokenProvider.validate(TokenCookies.read(request, name)).ifPresent(tokenProvider::revoke);
+            TokenCookies.clear(response, name, jwtProperties.isCookieSecure());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// HMAC-SHA256(HS256)으로 서명한 JWT 형식의 토큰을 발급하고 검증
+// 검증은 서명, 발급자(iss), 만료 시각, 폐기 목록만 확인하므로 세션 조회가 필요 없음 (refresh 토큰의 폐기 여부만 DB를 확인, TokenRevocationList)
+@Slf4j
+@Service
+public class TokenProvider {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_KEY_BYTES = 32; // HS256은 해시 출력 길이(256비트) 이상의 키가 필요
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final JwtProperties jwtProperties;
+    private final TokenRevocationList revocationList;
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+    private final Clock clock = Clock.systemUTC();
+
+    public TokenProvider(JwtProperties jwtProperties, TokenRevocationList revocationList, ObjectMapper objectMapper) {
+        this.jwtProperties = jwtProperties;
+        this.revocationList = revocationList;
+        this.objectMapper = objectMapper;
+        this.key = new SecretKeySpec(secretKey(jwtProperties), ALGORITHM);
+    }
+
+    public String generateAccessToken(String subject, Collection<? extends GrantedAuthority> authorities) {
+        return generate(subject, TokenClaims.ACCESS, jwtProperties.getAccessTokenTtl(), authorities);
+    }
+
+    public String generateRefreshToken(String subject, Collection<? extends GrantedAuthority> authorities) {
+        return generate(subject, TokenClaims.REFRESH, jwtProperties.getRefreshTokenTtl(), authorities);
+    }
+
+    // 서명이 맞고, 만료되지 않았고, 폐기되지 않은 토큰만 반환
+    public Optional<TokenClaims> validate(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        int first = token.indexOf('.');
+        int second = token.lastIndexOf('.');
+        if (first < 0 || first == second || !HEADER.equals(token.substring(0, first))) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] expected = sign(token.substring(0, second));
+            byte[] actual = Base64.getUrlDecoder().decode(token.substring(second + 1));
+            if (!MessageDigest.isEqual(expected, actual)) { // 비교 시간이 값에 따라 달라지지 않게 비교
+                return Optional.empty();
+            }
+
+            JsonNode payload = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(first + 1, second)));
+            TokenClaims claims = toClaims(payload);
+
+            if (!jwtProperties.getIssuer().equals(payload.path("iss").asText(null))
+                    || claims.getExpiresAt() <= clock.instant().getEpochSecond()
+                    || revocationList.isRevoked(claims)) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (Exception e) { // 형식이 잘못된 토큰
+            log.debug("invalid token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // 이 호출이 처음 폐기했으면 true (TokenRevocationList.revoke)
+    public boolean revoke(TokenClaims claims) {
+        return revocationList.revoke(claims);
+    }
+
+    private String generate(String subject, String type, Duration ttl, Collection<? extends GrantedAuthority> authorities) {
+        long now = clock.instant().getEpochSecond();
+
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("iss", jwtProperties.getIssuer());
+        payload.put("sub", subject);
+        payload.put("typ", type);
+        payload.put("jti", Long.toHexString(random.nextLong()));
+        payload.put("iat", now);
+        payload.put("exp", now + ttl.toSeconds());
+        payload.putArray("auth").addAll(authorities.stream()
+                .map(authority -> payload.textNode(authority.getAuthority()))
+                .toList());
+
+        try {
+            String unsigned = HEADER + "." + base64Url(objectMapper.writeValueAsBytes(payload));
+            return unsigned + "." + base64Url(sign(unsigned));
+        } catch (Exception e) {
+            throw new IllegalStateException("failed to generate token", e);
+        }
+    }
+
+    private static TokenClaims toClaims(JsonNode payload) {
+        List<String> authorities = new ArrayList<>();
+        payload.path("auth").forEach(node -> authorities.add(node.asText()));
+
+        return new TokenClaims(
+                payload.get("sub").asText(),
+                payload.get("typ").asText(),
+                Long.parseUnsignedLong(payload.get("jti").asText(), 16),
+                payload.get("exp").asLong(),
+                authorities);
+    }
+
+    private byte[] sign(String data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(key);
+        return mac.doFinal(data.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // 토큰 인증을 켰는데 키가 없거나 짧으면 시작하지 않음 (노드마다 다른 임의 키를 쓰거나 추측하기 쉬운 키로 서명하지 않게)
+    // 토큰 인증을 끈 경우에는 발급할 일이 없으므로 임의 키를 사용
+    private static byte[] secretKey(JwtProperties jwtProperties) {
+        String secretKey = jwtProperties.getSecretKey();
+        if (secretKey == null || secretKey.isBlank()) {
+            if (jwtProperties.isEnabled()) {
+                throw new IllegalStateException("blog.security.token.secret-key must be set when token authentication is enabled");
+            }
+            byte[] generated = new byte[MIN_SECRET_KEY_BYTES];
+            new SecureRandom().nextBytes(generated);
+            return generated;
+        }
+
+        byte[] bytes = secretKey.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_KEY_BYTES) {
+            throw new IllegalStateException("blog.security.token.secret-key must be at least "
+                    + MIN_SECRET_KEY_BYTES + " bytes (was " + bytes.length + ")");
+        }
+        return bytes;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,83 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import com.itschool.springbootdeveloper.repository.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 폐기된 토큰 목록 (로그아웃, refresh 토큰 교체)
+// 모든 노드가 공유하는 revoked_token 테이블에 저장하고, 이 노드에서 폐기했거나 확인한 토큰은 메모리에도 보관
+// - refresh 토큰 : 메모리에 없으면 테이블까지 확인 (재발급할 때만 검증하므로 조회가 드묾) -> 다른 노드에서 폐기한 토큰도 거부
+// - access 토큰 : 요청마다 검증하므로 메모리만 확인 -> 다른 노드에서 폐기한 access 토큰은 만료(access-token-ttl)까지 유효
+// 만료가 지난 항목은 어차피 서명 검증에서 걸러지므로 주기적으로 정리
+@Component
+public class TokenRevocationList {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+    private static final long SWEEP_INTERVAL_SECONDS = Duration.ofHours(1).toSeconds();
+
+    private final ConcurrentHashMap<Long, Long> revoked = new ConcurrentHashMap<>();
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Clock clock;
+    private final AtomicLong lastSweep;
+
+    @Autowired
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository) {
+        this(revokedTokenRepository, Clock.systemUTC());
+    }
+
+    TokenRevocationList(RevokedTokenRepository revokedTokenRepository, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.instant().getEpochSecond());
+    }
+
+    // 토큰을 폐기하고, 이 호출이 처음 폐기했으면 true
+    // refresh 토큰 교체는 검증 후 폐기 사이에 같은 토큰으로 들어온 다른 요청과 경쟁하므로 false면 새 토큰을 발급하지 않아야 함
+    // (이 노드 안에서는 putIfAbsent, 노드 사이에서는 revoked_token 기본 키로 한 요청만 성공)
+    public boolean revoke(TokenClaims claims) {
+        boolean claimed = revoked.putIfAbsent(claims.getTokenId(), claims.getExpiresAt()) == null;
+        if (claimed) {
+            try {
+                revokedTokenRepository.insert(claims.getTokenId(), claims.getExpiresAt());
+            } catch (DataIntegrityViolationException e) { // 다른 노드가 같은 토큰을 먼저 폐기함
+                claimed = false;
+            }
+        }
+
+        long now = clock.instant().getEpochSecond();
+        long last = lastSweep.get();
+        if ((revoked.size() > SWEEP_THRESHOLD || now - last >= SWEEP_INTERVAL_SECONDS) && lastSweep.compareAndSet(last, now)) {
+            sweep();
+        }
+        return claimed;
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        if (revoked.containsKey(claims.getTokenId())) {
+            return true;
+        }
+        if (!claims.isRefresh() || !revokedTokenRepository.existsById(claims.getTokenId())) {
+            return false;
+        }
+
+        revoked.put(claims.getTokenId(), claims.getExpiresAt());
+        return true;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // 이미 만료된 토큰은 목록에 없어도 거부되므로 제거
+    public void sweep() {
+        long now = clock.instant().getEpochSecond();
+        revoked.values().removeIf(expiresAt -> expiresAt < now);
+        revokedTokenRepository.deleteExpired(now);
+    }
+}
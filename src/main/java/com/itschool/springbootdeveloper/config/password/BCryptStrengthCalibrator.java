@@ -0,0 +1,48 @@
+package com.itschool.springbootdeveloper.config.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+// 서버에서 BCrypt 해시 한 번이 목표 시간에 가장 가깝게 걸리는 cost(strength)를 찾음
+// cost가 1 오를 때마다 해싱 시간은 약 2배가 됨
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        long targetNanos = target.toNanos();
+
+        measure(minStrength); // JIT 워밍업
+
+        long previousNanos = -1;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long nanos = measure(strength);
+
+            if (nanos >= targetNanos) {
+                // 바로 아래 cost가 목표에 더 가까우면 그걸 사용 (단, minStrength 아래로는 내려가지 않음)
+                int chosen = strength > minStrength && targetNanos - previousNanos < nanos - targetNanos
+                        ? strength - 1 : strength;
+                log.info("BCrypt strength calibrated to {} (target {} ms, measured {} ms at strength {})",
+                        chosen, target.toMillis(), nanos / 1_000_000, strength);
+                return chosen;
+            }
+            previousNanos = nanos;
+        }
+
+        log.info("BCrypt strength calibrated to max {} (target {} ms not reached)", maxStrength, target.toMillis());
+        return maxStrength;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,62 @@
+package com.itschool.springbootdeveloper.config.password;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+// CPU를 많이 쓰는 해싱(encode, matches)을 톰캣 요청 스레드 대신 전용 스레드 풀에서 실행하는 PasswordEncoder
+// 풀의 대기 큐가 가득 차면 기다리지 않고 바로 PasswordHashingBusyException(503)을 던짐
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final long retryAfterSeconds;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, long retryAfterSeconds) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // 해시 문자열의 cost만 비교하므로 풀을 거치지 않음
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.itschool.springbootdeveloper.config.password;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import java.io.IOException;
+
+// 로그인 실패 처리 : 해싱 풀이 포화돼서 실패한 경우에는 로그인 페이지로 보내지 않고 바로 503 응답
+public class BusyAwareAuthenticationFailureHandler extends SimpleUrlAuthenticationFailureHandler {
+
+    public BusyAwareAuthenticationFailureHandler(String defaultFailureUrl) {
+        super(defaultFailureUrl);
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
+                                        AuthenticationException exception) throws IOException, ServletException {
+        // BusyAwareAuthenticationProvider가 포화 예외를 InternalAuthenticationServiceException으로 감싸서 던짐
+        // sendError는 /error로 다시 디스패치되면서 로그인 페이지 리다이렉트로 바뀔 수 있으므로 응답을 직접 씀
+        if (exception.getCause() instanceof PasswordHashingBusyException busy) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(busy.getRetryAfterSeconds()));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(busy.getReason());
+            return;
+        }
+
+        super.onAuthenticationFailure(request, response, exception);
+    }
+}
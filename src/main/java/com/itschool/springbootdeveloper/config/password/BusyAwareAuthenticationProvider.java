@@ -0,0 +1,21 @@
+package com.itschool.springbootdeveloper.config.password;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+// 로그인 중의 해싱(없는 사용자용 더미 해시, 비밀번호 비교, cost 업그레이드)이 풀 포화로 실패하면 인증 예외로 감쌈
+// 로그인 필터는 AuthenticationException만 실패 처리기로 넘기고 나머지는 그대로 던지므로(500) 감싸지 않으면
+// BusyAwareAuthenticationFailureHandler까지 오지 못함 (ProviderManager도 이 예외는 다른 제공자를 시도하지 않고 바로 던짐)
+public class BusyAwareAuthenticationProvider extends DaoAuthenticationProvider {
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        try {
+            return super.authenticate(authentication);
+        } catch (PasswordHashingBusyException e) {
+            throw new InternalAuthenticationServiceException(e.getReason(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.itschool.springbootdeveloper.config.password;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// 해싱 작업 큐가 가득 차서 요청을 받을 수 없을 때 던짐 -> 503 + Retry-After
+public class PasswordHashingBusyException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "password hashing queue is full");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
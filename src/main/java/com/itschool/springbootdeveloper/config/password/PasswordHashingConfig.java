@@ -0,0 +1,57 @@
+package com.itschool.springbootdeveloper.config.password;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 비밀번호 해싱 설정 : 전용 스레드 풀 + 시작 시 BCrypt cost 보정
+@Configuration
+public class PasswordHashingConfig {
+
+    // 해싱 전용 스레드 풀 : CPU 코어 수만큼의 스레드와 크기가 제한된 대기 큐
+    // 큐가 가득 차면 RejectedExecutionException -> BoundedPasswordEncoder에서 503으로 변환
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(
+            @Value("${blog.security.password.threads:0}") int threads,
+            @Value("${blog.security.password.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 패스워드 인코더로 사용할 빈 등록
+    // strength를 지정하지 않으면 시작할 때 목표 해싱 시간에 맞춰 cost를 보정
+    // 저장된 해시의 cost가 더 낮으면 로그인 성공 시 새 cost로 다시 해싱됨 (UserDetailService.updatePassword)
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            ExecutorService passwordHashingExecutor,
+            @Value("${blog.security.password.strength:0}") int strength,
+            @Value("${blog.security.password.target-hash-time:100ms}") Duration targetHashTime,
+            @Value("${blog.security.password.min-strength:10}") int minStrength,
+            @Value("${blog.security.password.max-strength:14}") int maxStrength,
+            @Value("${blog.security.password.retry-after:1}") long retryAfterSeconds) {
+        int chosen = strength > 0
+                ? strength
+                : BCryptStrengthCalibrator.calibrate(targetHashTime, minStrength, maxStrength);
+
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(chosen), passwordHashingExecutor, retryAfterSeconds);
+    }
+}
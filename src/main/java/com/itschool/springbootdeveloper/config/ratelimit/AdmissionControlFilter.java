@@ -0,0 +1,127 @@
+package com.itschool.springbootdeveloper.config.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// 요청을 처리하기 전에 받을지 결정
+// 1) 사용자(로그인 전에는 IP)별 토큰 버킷 : 조회/쓰기/인증 요청을 따로 세고, 다 쓰면 429 + Retry-After(다음 토큰까지)
+// 2) 동시 처리 요청 수 제한 (ConcurrencyLimiter) : 한도를 넘으면 503 + Retry-After
+// 로그인 요청도 세야 하므로 시큐리티 체인에서 로그인 처리(UsernamePasswordAuthenticationFilter)보다 먼저 실행 (WebSecurityConfig)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final RequestMatcher AUTH_REQUESTS = new OrRequestMatcher(
+            new AntPathRequestMatcher("/login", HttpMethod.POST.name()),
+            new AntPathRequestMatcher("/user", HttpMethod.POST.name()), // 회원 가입
+            new AntPathRequestMatcher("/api/token", HttpMethod.POST.name()));
+    private static final RequestMatcher EXCLUDED = new AntPathRequestMatcher("/actuator/**"); // 헬스 체크, 메트릭 수집
+
+    private final RateLimiter reads;
+    private final RateLimiter writes;
+    private final RateLimiter auth;
+    private final ConcurrencyLimiter concurrency; // 끄면 null
+    private final long retryAfterSeconds;
+    private final LongSupplier nanoClock;
+
+    public AdmissionControlFilter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdmissionControlFilter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.reads = new RateLimiter("read", properties.getRead(), properties.getMaxKeys(), properties.getIdleTimeout());
+        this.writes = new RateLimiter("write", properties.getWrite(), properties.getMaxKeys(), properties.getIdleTimeout());
+        this.auth = new RateLimiter("auth", properties.getAuth(), properties.getMaxKeys(), properties.getIdleTimeout());
+        this.concurrency = properties.getShedding().isEnabled()
+                ? new ConcurrencyLimiter(properties.getShedding(), nanoClock.getAsLong())
+                : null;
+        this.retryAfterSeconds = Math.max(1, properties.getShedding().getRetryAfter().toSeconds());
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return EXCLUDED.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = nanoClock.getAsLong();
+
+        long wait = limiter(request).tryAcquire(clientKey(request), start);
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, ceilSeconds(wait));
+            return;
+        }
+
+        if (concurrency == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrency.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally { // SSE처럼 비동기로 이어지는 응답은 처음 디스패치가 끝날 때 자리를 돌려줌 (연결이 유지되는 동안 차지하지 않음)
+            long end = nanoClock.getAsLong();
+            concurrency.release(end - start, end);
+        }
+    }
+
+    ConcurrencyLimiter getConcurrency() {
+        return concurrency;
+    }
+
+    private RateLimiter limiter(HttpServletRequest request) {
+        if (AUTH_REQUESTS.matches(request)) {
+            return auth;
+        }
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                ? reads
+                : writes;
+    }
+
+    // 로그인한 사용자는 어느 IP에서 보내든 같은 버킷, 로그인 전에는 IP별
+    // (세션/토큰 인증은 이 필터보다 앞의 SecurityContextHolderFilter, TokenAuthenticationFilter에서 끝남)
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long ceilSeconds(long nanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return Math.max(1, (nanos + second - 1) / second);
+    }
+
+    // sendError는 /error로 다시 디스패치되고, 로그인 전 사용자는 /error에 접근할 수 없어 로그인 페이지 리다이렉트로 바뀌므로 응답을 직접 씀
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(status.getReasonPhrase());
+    }
+}
@@ -0,0 +1,114 @@
+package com.itschool.springbootdeveloper.config.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 동시에 처리 중인 요청 수 제한 (한도를 넘는 요청은 처리하지 않고 바로 거절해서 대기열이 쌓이지 않게 함)
+// 주기(window)마다 p99 응답 시간을 보고 한도를 조정 : 목표를 넘으면 10% 줄이고, 아니면 최댓값의 5%씩 늘림
+// 응답 시간은 2의 거듭제곱(마이크로초) 구간별 개수만 세므로 p99는 구간의 상한값 (실제보다 최대 두 배 크게 잡힘)
+final class ConcurrencyLimiter {
+
+    private static final int BUCKETS = 40; // 2^39 us ≈ 6일
+    private static final int MIN_SAMPLES = 20; // 주기 동안 요청이 이보다 적으면 p99로 한도를 줄이지 않음
+
+    private final int maxLimit;
+    private final int minLimit;
+    private final int increase;
+    private final long latencyTarget;
+    private final long window;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+    private final AtomicLong windowEnd;
+    private volatile int limit;
+    private volatile long p99; // 마지막 주기의 p99 (ns)
+
+    private final Counter shed = Metrics.counter("blog.admission.shed");
+
+    ConcurrencyLimiter(RateLimitProperties.Shedding shedding, long now) {
+        this.maxLimit = shedding.getMaxInFlight();
+        this.minLimit = Math.min(shedding.getMinInFlight(), maxLimit);
+        this.increase = Math.max(1, maxLimit / 20);
+        this.latencyTarget = shedding.getLatencyTarget().toNanos();
+        this.window = shedding.getWindow().toNanos();
+        this.windowEnd = new AtomicLong(now + window);
+        this.limit = maxLimit;
+
+        Metrics.gauge("blog.admission.in-flight", inFlight);
+        Metrics.gauge("blog.admission.limit", this, limiter -> limiter.limit);
+        Metrics.gauge("blog.admission.latency.p99", this, limiter -> limiter.p99 / 1e9); // 초
+    }
+
+    // 한도 안이면 자리를 차지하고 true (처리가 끝나면 반드시 release)
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long latency, long now) {
+        inFlight.decrementAndGet();
+        latencies.incrementAndGet(bucket(latency));
+
+        long end = windowEnd.get();
+        if (now >= end && windowEnd.compareAndSet(end, now + window)) { // 주기가 지나면 처음 끝난 요청 하나만 한도를 조정
+            adjust();
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getP99() {
+        return p99;
+    }
+
+    private void adjust() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = latencies.getAndSet(i, 0);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return;
+        }
+
+        long threshold = total - total / 100; // 99번째 백분위가 들어 있는 구간
+        long seen = 0;
+        int index = 0;
+        while (seen + counts[index] < threshold) {
+            seen += counts[index++];
+        }
+        p99 = TimeUnit.MICROSECONDS.toNanos(1L << index);
+
+        if (total >= MIN_SAMPLES && p99 > latencyTarget) {
+            limit = Math.max(minLimit, limit - Math.max(1, limit / 10));
+        } else {
+            limit = Math.min(maxLimit, limit + increase);
+        }
+    }
+
+    // 구간 i : 2^(i-1) us 이상 2^i us 미만 (0은 1us 미만)
+    private static int bucket(long latency) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, latency));
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+}
@@ -0,0 +1,48 @@
+package com.itschool.springbootdeveloper.config.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 요청 수 제한과 과부하 시 요청 거절 설정 (application.yml의 blog.security.rate-limit 값과 매핑)
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("blog.security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Budget read = new Budget(200, 100); // GET 등 조회
+    private Budget write = new Budget(30, 5); // 글 추가/수정/삭제
+    private Budget auth = new Budget(10, 0.2); // 로그인, 회원 가입, 토큰 재발급 (5초에 하나)
+    private int maxKeys = 100_000; // 종류별로 보관하는 사용자/IP 버킷 수
+    private Duration idleTimeout = Duration.ofMinutes(10); // 이 시간 동안 요청이 없던 버킷은 제거 (다시 오면 가득 찬 버킷으로 시작)
+    private Shedding shedding = new Shedding();
+
+    // 토큰 버킷 : capacity 만큼 한꺼번에 보낼 수 있고, 초당 refillPerSecond 개씩 다시 채워짐
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        private int capacity;
+        private double refillPerSecond;
+    }
+
+    // 동시에 처리 중인 요청 수 제한 : p99 응답 시간이 목표를 넘으면 한도를 줄이고, 돌아오면 다시 늘림
+    @Setter
+    @Getter
+    public static class Shedding {
+        private boolean enabled = true;
+        private int maxInFlight = 200; // 한도의 최댓값 (시작 값)
+        private int minInFlight = 16; // 한도를 줄여도 이 값보다 작아지지 않음
+        private Duration latencyTarget = Duration.ofMillis(500); // p99 목표
+        private Duration window = Duration.ofSeconds(1); // 이 주기마다 p99를 계산해서 한도를 조정
+        private Duration retryAfter = Duration.ofSeconds(1); // 503 응답의 Retry-After
+    }
+}
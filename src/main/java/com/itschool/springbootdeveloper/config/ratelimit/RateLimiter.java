@@ -0,0 +1,48 @@
+package com.itschool.springbootdeveloper.config.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// 요청 종류(조회, 쓰기, 인증) 하나의 사용자/IP별 토큰 버킷
+// 버킷은 개수와 유휴 시간이 제한된 캐시에 보관 (IP를 바꿔 가며 보내도 메모리가 계속 늘지 않음)
+final class RateLimiter {
+
+    private final long interval;
+    private final long tolerance;
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter rejected;
+
+    RateLimiter(String name, RateLimitProperties.Budget budget, int maxKeys, Duration idleTimeout) {
+        if (budget.getCapacity() < 1 || budget.getRefillPerSecond() <= 0) {
+            throw new IllegalArgumentException("invalid rate limit budget: " + name);
+        }
+        this.interval = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / budget.getRefillPerSecond()));
+        this.tolerance = interval * budget.getCapacity();
+
+        // 가득 차기 전에 제거되면 빈 버킷이 가득 찬 버킷으로 바뀌므로 다시 채워지는 시간보다 짧게 두지 않음
+        long expireNanos = Math.max(idleTimeout.toNanos(), tolerance);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(expireNanos, TimeUnit.NANOSECONDS)
+                .build();
+
+        Tags tags = Tags.of("budget", name);
+        this.rejected = Metrics.counter("blog.ratelimit.rejected", tags);
+        Metrics.gauge("blog.ratelimit.keys", tags, buckets, cache -> cache.estimatedSize());
+    }
+
+    // 허용하면 0, 거절하면 다음 토큰까지 남은 시간(ns)
+    long tryAcquire(String key, long now) {
+        long wait = buckets.get(key, k -> new TokenBucket(now)).tryAcquire(now, interval, tolerance);
+        if (wait > 0) {
+            rejected.increment();
+        }
+        return wait;
+    }
+}
@@ -0,0 +1,30 @@
+package com.itschool.springbootdeveloper.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 사용자/IP 하나의 토큰 버킷 (GCRA : 남은 토큰 수 대신 "버킷이 다시 가득 차는 시각" 하나만 보관)
+// 토큰 수와 마지막 충전 시각을 따로 두지 않으므로 락 없이 CAS 한 번으로 꺼냄
+final class TokenBucket {
+
+    private final AtomicLong fullAt; // 이 시각(nanoTime)이 지나면 버킷이 가득 참
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    // 토큰 하나를 꺼내면 0, 없으면 다음 토큰이 생길 때까지 남은 시간(ns)
+    // interval : 토큰 하나가 채워지는 시간, tolerance : 가득 찬 버킷을 비우는 데 필요한 시간 (capacity * interval)
+    long tryAcquire(long now, long interval, long tolerance) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
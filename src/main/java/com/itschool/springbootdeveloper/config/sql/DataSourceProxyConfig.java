@@ -0,0 +1,41 @@
+package com.itschool.springbootdeveloper.config.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// 커넥션 풀(DataSource)을 datasource-proxy로 감싸서 실행되는 모든 JDBC 쿼리의 시간을 측정
+// (느린 쿼리 로그, 요청별 SQL 수 집계)
+// 프록시는 unwrap()을 원본에 위임하므로 커넥션 풀 메트릭(hikaricp.*)은 그대로 수집됨
+@Configuration
+public class DataSourceProxyConfig {
+
+    // BeanPostProcessor는 다른 빈보다 먼저 만들어져야 하므로 static으로 등록하고, 설정은 Environment에서 직접 읽음
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+
+                SlowQueryListener slowQueryListener = new SlowQueryListener(
+                        environment.getProperty("blog.sql.slow-query.threshold", Duration.class, Duration.ofMillis(200)),
+                        environment.getProperty("blog.sql.slow-query.sample-rate", Double.class, 1.0));
+
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(slowQueryListener)
+                        .listener(new SqlStatementCountingListener())
+                        .build();
+            }
+        };
+    }
+}
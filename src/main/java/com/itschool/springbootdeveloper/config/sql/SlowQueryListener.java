@@ -0,0 +1,56 @@
+package com.itschool.springbootdeveloper.config.sql;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// 실행 시간이 기준을 넘은 쿼리만 로그로 남김 (show-sql처럼 모든 쿼리를 출력하지 않음)
+// DB가 느려져서 느린 쿼리가 쏟아질 때 로그가 넘치지 않도록 sampleRate 비율만 출력하고, 개수는 전부 메트릭으로 셈
+@Slf4j
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final int MAX_SQL_LENGTH = 1000;
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    public SlowQueryListener(Duration threshold, double sampleRate) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+
+        Metrics.counter("jdbc.queries.slow").increment();
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        // 바인딩 파라미터는 개인 정보가 있을 수 있어 남기지 않음
+        String sql = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "));
+        if (sql.length() > MAX_SQL_LENGTH) {
+            sql = sql.substring(0, MAX_SQL_LENGTH) + "...";
+        }
+
+        log.warn("slow query {}ms (threshold {}ms, batch size {}, success {}): {}",
+                execInfo.getElapsedTime(), thresholdMillis, execInfo.getBatchSize(), execInfo.isSuccess(), sql);
+    }
+}
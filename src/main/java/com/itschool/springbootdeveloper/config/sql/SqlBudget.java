@@ -0,0 +1,17 @@
+package com.itschool.springbootdeveloper.config.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 요청 한 번에 실행할 수 있는 최대 SQL 수 (컨트롤러 메서드에 선언)
+// 넘으면 경고 로그와 sql.budget.exceeded 메트릭을 남기고, blog.sql.budget.fail-on-exceed=true면 예외로 요청을 실패시킴 (테스트용)
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int statements();
+}
@@ -0,0 +1,9 @@
+package com.itschool.springbootdeveloper.config.sql;
+
+// blog.sql.budget.fail-on-exceed=true일 때 SQL 예산 초과나 N+1 의심 쿼리가 있으면 발생
+public class SqlBudgetExceededException extends IllegalStateException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
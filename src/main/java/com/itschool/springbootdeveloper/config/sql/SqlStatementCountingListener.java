@@ -0,0 +1,35 @@
+package com.itschool.springbootdeveloper.config.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 현재 요청의 SqlStatistics에 쿼리 실행 횟수와 시간을 더함 (요청 밖에서 실행된 쿼리는 무시)
+public class SqlStatementCountingListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = SqlStatementCountingListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatistics.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime()); // getElapsedTime()은 밀리초 단위라 직접 측정
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (statistics == null || start == null) {
+            return;
+        }
+
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        statistics.record(sql, System.nanoTime() - start, execInfo.isBatch());
+    }
+}
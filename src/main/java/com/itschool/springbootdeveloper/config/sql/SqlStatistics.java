@@ -0,0 +1,51 @@
+package com.itschool.springbootdeveloper.config.sql;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 요청 하나(스레드 하나)에서 실행된 SQL 수와 시간
+// SqlStatisticsFilter가 요청 시작 시 현재 스레드에 묶고, SqlStatementCountingListener가 쿼리마다 기록함
+@Getter
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements; // DB 왕복 횟수 (JDBC 배치 실행은 1번)
+    private long elapsedNanos;
+    private int maxRepeats; // 같은 SQL이 가장 많이 실행된 횟수 (N+1 의심)
+    private String mostRepeatedSql;
+
+    private final Map<String, Integer> repeats = new HashMap<>();
+
+    static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    // 요청 처리 중이 아니면 null (애플리케이션 시작, 스케줄러 등)
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    void record(String sql, long nanos, boolean batch) {
+        statements++;
+        elapsedNanos += nanos;
+
+        if (batch) { // 배치는 여러 행을 한 번에 보내므로 N+1 검사에서 제외
+            return;
+        }
+
+        int count = repeats.merge(sql, 1, Integer::sum);
+        if (count > maxRepeats) {
+            maxRepeats = count;
+            mostRepeatedSql = sql;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.itschool.springbootdeveloper.config.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 요청별 SQL 수 집계와 @SqlBudget 검사 (DataSourceProxyConfig의 SqlStatementCountingListener가 쿼리를 셈)
+@Configuration
+public class SqlStatisticsConfig {
+
+    // 서블릿 필터로 자동 등록됨 (테스트에서는 MockMvc에 직접 추가)
+    @Bean
+    public SqlStatisticsFilter sqlStatisticsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${blog.sql.statistics.response-header:false}") boolean responseHeader,
+            @Value("${blog.sql.budget.fail-on-exceed:false}") boolean failOnExceed,
+            @Value("${blog.sql.budget.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        return new SqlStatisticsFilter(meterRegistry, responseHeader, failOnExceed, nPlusOneThreshold);
+    }
+}
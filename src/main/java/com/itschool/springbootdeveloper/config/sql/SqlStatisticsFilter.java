@@ -0,0 +1,141 @@
+package com.itschool.springbootdeveloper.config.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// 요청마다 실행된 SQL 수와 시간을 집계
+// - 메트릭 : http.server.requests.sql.statements, http.server.requests.sql.time (uri, method 태그)
+// - 응답 헤더(선택) : X-SQL-Statements, X-SQL-Time (응답이 커밋되는 시점까지의 값)
+// - 컨트롤러 메서드의 @SqlBudget을 넘거나, 같은 SQL이 nPlusOneThreshold번 이상 반복되면 경고
+// 시큐리티 필터에서 실행되는 쿼리도 포함하도록 가장 먼저 실행됨
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeader;
+    private final boolean failOnExceed;
+    private final int nPlusOneThreshold;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, boolean responseHeader, boolean failOnExceed, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeader = responseHeader;
+        this.failOnExceed = failOnExceed;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+
+        try {
+            if (responseHeader) {
+                HeaderWritingResponse headerWritingResponse = new HeaderWritingResponse(response, statistics);
+                filterChain.doFilter(request, headerWritingResponse);
+                headerWritingResponse.writeHeaders(); // 본문 없이 끝나서 아직 커밋되지 않은 경우
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            SqlStatistics.clear();
+        }
+
+        complete(request, statistics);
+    }
+
+    private void complete(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+        Tags tags = Tags.of("uri", uri, "method", request.getMethod());
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        String violation = violation(request, statistics);
+        if (violation == null) {
+            return;
+        }
+
+        meterRegistry.counter("sql.budget.exceeded", tags).increment();
+        String message = request.getMethod() + " " + uri + ": " + violation;
+        if (failOnExceed) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private String violation(HttpServletRequest request, SqlStatistics statistics) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        SqlBudget budget = handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getMethodAnnotation(SqlBudget.class)
+                : null;
+
+        if (budget != null && statistics.getStatements() > budget.statements()) {
+            return String.format(Locale.ROOT, "%d SQL statements exceed budget of %d",
+                    statistics.getStatements(), budget.statements());
+        }
+        if (statistics.getMaxRepeats() >= nPlusOneThreshold) {
+            return String.format(Locale.ROOT, "possible N+1, same SQL executed %d times: %s",
+                    statistics.getMaxRepeats(), statistics.getMostRepeatedSql());
+        }
+        return null;
+    }
+
+    // 응답이 커밋되기 직전(본문을 쓰기 시작하기 전)에 헤더를 추가
+    private static final class HeaderWritingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatistics statistics;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3fms", statistics.getElapsedNanos() / 1_000_000.0));
+        }
+    }
+}
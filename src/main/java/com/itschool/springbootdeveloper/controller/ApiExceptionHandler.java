@@ -0,0 +1,31 @@
+package com.itschool.springbootdeveloper.controller;
+
+import com.itschool.springbootdeveloper.service.ArticleNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// 블로그 API 예외를 HTTP 상태 코드로 변환
+@RestControllerAdvice(assignableTypes = BlogApiController.class)
+public class ApiExceptionHandler {
+
+    // 서비스에서 글을 찾지 못함
+    @ExceptionHandler(ArticleNotFoundException.class)
+    public ProblemDetail handleNotFound(ArticleNotFoundException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getReason());
+    }
+
+    // 잘못된 요청 값 (커서, ?fields= 등)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleBadRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    // If-Match 버전이 현재 버전과 다름 (다른 요청이 먼저 수정/삭제함)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleVersionMismatch(OptimisticLockingFailureException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+    }
+}
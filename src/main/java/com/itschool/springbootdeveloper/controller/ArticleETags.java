@@ -0,0 +1,147 @@
+package com.itschool.springbootdeveloper.controller;
+
+import com.itschool.springbootdeveloper.dto.ArticleMetadata;
+import com.itschool.springbootdeveloper.dto.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// 글 응답의 ETag(id, 버전, 조회수), Last-Modified(수정 시간) 값을 메타데이터로부터 계산하고 If-Match를 해석
+// 조회수는 글을 고치지 않아도 바뀌므로 조회수를 담은 응답은 ETag에 조회수를 넣고 Last-Modified는 보내지 않음
+// 목록도 Last-Modified는 보내지 않음 : 가장 늦은 수정 시간은 글이 삭제되거나 예전 글이 페이지로 밀려 들어와도 그대로라서
+// 바뀐 페이지에 304를 줄 수 있음, 페이지 구성을 해시한 ETag만 사용
+final class ArticleETags {
+
+    private ArticleETags() {
+    }
+
+    // 클라이언트가 조건부 요청을 보냈는지 (보냈을 때만 메타데이터를 먼저 조회함)
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // If-None-Match를 보냈는지 (목록은 ETag로만 판단하므로 If-Modified-Since만 보냈으면 메타데이터를 조회하지 않음)
+    static boolean hasIfNoneMatch(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    // 단건 : "id-버전"
+    static String of(ArticleMetadata article) {
+        return "\"" + article.getId() + "-" + article.getVersion() + "\"";
+    }
+
+    // 조회수를 담은 단건 : "id-버전-조회수" (조회수는 DB 값 + 아직 반영되지 않은 값)
+    static String of(ArticleMetadata article, long views) {
+        return "\"" + article.getId() + "-" + article.getVersion() + "-" + views + "\"";
+    }
+
+    // If-Match 헤더에서 받아들일 버전들을 꺼냄, 헤더가 없거나 * 이면 null (버전 확인 없이 수정)
+    // 쉼표로 구분한 여러 ETag 중 하나라도 현재 버전이면 통과 (RFC 9110 : If-Match는 강한 비교)
+    // - 약한 ETag(W/"...")는 강한 비교에서 어떤 것과도 같지 않으므로 버전으로 쓰지 않음
+    // - 조회수가 붙은 ETag("id-버전-조회수")도 버전만 비교 (조회수는 수정/삭제와 무관하고 인기 글은 계속 바뀌므로)
+    // 남는 버전이 없거나(다른 글, 약한 ETag뿐) 형식이 맞지 않으면 현재 버전과 일치할 수 없으므로 412
+    static List<Long> parseIfMatch(String ifMatch, long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        List<Long> versions = new ArrayList<>();
+        int i = 0;
+        while (i < ifMatch.length()) {
+            char c = ifMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+
+            boolean weak = ifMatch.startsWith("W/", i);
+            if (weak) {
+                i += 2;
+            }
+            int end = i < ifMatch.length() && ifMatch.charAt(i) == '"' ? ifMatch.indexOf('"', i + 1) : -1;
+            if (end < 0) {
+                throw preconditionFailed(ifMatch);
+            }
+
+            Long version = weak ? null : version(ifMatch.substring(i + 1, end), id);
+            if (version != null && !versions.contains(version)) {
+                versions.add(version);
+            }
+            i = end + 1;
+        }
+
+        if (versions.isEmpty()) {
+            throw preconditionFailed(ifMatch);
+        }
+        return versions;
+    }
+
+    // "id-버전" 또는 "id-버전-조회수"에서 버전, 다른 글이거나 형식이 맞지 않으면 null
+    private static Long version(String tag, long id) {
+        String prefix = id + "-";
+        if (!tag.startsWith(prefix)) {
+            return null;
+        }
+
+        String version = tag.substring(prefix.length());
+        try {
+            int views = version.indexOf('-');
+            if (views >= 0) {
+                Long.parseLong(version.substring(views + 1)); // 조회수 형식만 확인
+                version = version.substring(0, views);
+            }
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ResponseStatusException preconditionFailed(String ifMatch) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match: " + ifMatch);
+    }
+
+    // 목록 : 페이지에 담긴 글들의 (id, 버전)과 다음 페이지 여부를 해시
+    // 글이 추가/수정/삭제되어 페이지 구성이 바뀌면 값이 달라짐
+    static String of(CursorPage<? extends ArticleMetadata> page) {
+        return of(page, null);
+    }
+
+    // 조회수를 담은 목록 : 글마다 조회수(views가 계산)도 해시
+    static String of(CursorPage<? extends ArticleMetadata> page, ToLongFunction<ArticleMetadata> views) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (ArticleMetadata article : page.getContent()) {
+            hash = mix(hash ^ article.getId());
+            hash = mix(hash ^ article.getVersion());
+            if (views != null) {
+                hash = mix(hash ^ views.applyAsLong(article));
+            }
+        }
+        hash = mix(hash ^ (page.hasNext() ? 1 : 0));
+
+        return "\"" + page.getContent().size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    // 값이 없으면 -1
+    static long lastModified(ArticleMetadata article) {
+        return article.getUpdatedAt() == null ? -1 : epochMillis(article.getUpdatedAt());
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // splitmix64 의 마무리 단계 (비트를 고르게 섞음)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,47 +1,233 @@
 package com.itschool.springbootdeveloper.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.itschool.springbootdeveloper.config.BinaryFormatConfig;
+import com.itschool.springbootdeveloper.config.sql.SqlBudget;
 import com.itschool.springbootdeveloper.domain.Article;
 import com.itschool.springbootdeveloper.dto.AddArticleRequest;
+import com.itschool.springbootdeveloper.dto.ArticleField;
+import com.itschool.springbootdeveloper.dto.ArticleFieldSet;
+import com.itschool.springbootdeveloper.dto.ArticleMetadata;
 import com.itschool.springbootdeveloper.dto.ArticleResponse;
+import com.itschool.springbootdeveloper.dto.ArticleSnapshot;
+import com.itschool.springbootdeveloper.dto.ArticleSummary;
+import com.itschool.springbootdeveloper.dto.ArticleSummaryResponse;
+import com.itschool.springbootdeveloper.dto.ArticleVersion;
+import com.itschool.springbootdeveloper.dto.CursorPage;
+import com.itschool.springbootdeveloper.dto.SparseArticle;
 import com.itschool.springbootdeveloper.dto.UpdateArticleRequest;
+import com.itschool.springbootdeveloper.service.ArticleViewCounter;
 import com.itschool.springbootdeveloper.service.BlogService;
-import lombok.RequiredArgsConstructor;
+import com.itschool.springbootdeveloper.stream.ArticleStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
 
-@RequiredArgsConstructor
-@RestController // HTTP Response Body에 객체 데이터를 JSON 형식으로 반환하는 컨트롤러
+@RestController // HTTP Response Body에 객체 데이터를 JSON 형식으로 반환하는 컨트롤러 (Accept에 따라 CBOR/Smile, BinaryFormatConfig)
 @RequestMapping("/api/articles")
 public class BlogApiController {
 
+    // 다음 페이지 커서를 내려주는 응답 헤더 (본문은 기존처럼 글 배열 그대로 유지)
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BlogService blogService;
+    private final ObjectMapper objectMapper;
+    private final ArticleViewCounter articleViewCounter; // 응답의 조회수 = DB 값 + 아직 반영되지 않은 값
+    private final ArticleStream articleStream; // 글 변경 알림 구독
+    private final MappingJackson2CborHttpMessageConverter cborConverter; // BinaryFormatConfig : JSON과 같은 설정의 CBOR/Smile 매퍼
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+    private final int maxBatchSize; // 한 번에 추가할 수 있는 글 수
+
+    public BlogApiController(BlogService blogService, ObjectMapper objectMapper, ArticleViewCounter articleViewCounter,
+                             ArticleStream articleStream, MappingJackson2CborHttpMessageConverter cborConverter,
+                             MappingJackson2SmileHttpMessageConverter smileConverter,
+                             @Value("${blog.articles.max-batch-size:1000}") int maxBatchSize) {
+        this.blogService = blogService;
+        this.objectMapper = objectMapper;
+        this.articleViewCounter = articleViewCounter;
+        this.articleStream = articleStream;
+        this.cborConverter = cborConverter;
+        this.smileConverter = smileConverter;
+        this.maxBatchSize = maxBatchSize;
+    }
 
     @GetMapping("{id}") // readAll
-    public ResponseEntity<ArticleResponse> findArticles(@PathVariable long id) {
-        Article article = blogService.findById(id);
+    @SqlBudget(statements = 2) // 조건부 요청의 메타데이터 조회 + 캐시에 없을 때 단건 조회
+    public ResponseEntity<ArticleResponse> findArticles(@PathVariable long id, WebRequest webRequest) {
+        // 조건부 요청이면 본문 없이 메타데이터만 보고 변경이 없을 때 304 응답
+        if (ArticleETags.isConditional(webRequest)) {
+            ArticleMetadata metadata = blogService.findMetadata(id);
+            if (webRequest.checkNotModified(ArticleETags.of(metadata, metadata.getViews() + articleViewCounter.pending(id)))) {
+                return null; // 304 Not Modified 는 이미 설정됨
+            }
+        }
 
-        return ResponseEntity.ok()
-                .body(new ArticleResponse(article));
+        ArticleSnapshot article = blogService.findById(id);
+        long pending = articleViewCounter.pending(id); // 본문과 ETag가 같은 조회수를 쓰도록 한 번만 읽음
+
+        // 조회수가 바뀌어도 수정 시간은 그대로이므로 Last-Modified는 보내지 않음 (ETag로만 검증)
+        return withValidators(ResponseEntity.ok(), ArticleETags.of(article, article.getViews() + pending), -1)
+                .body(new ArticleResponse(article, pending));
+    }
+
+    // ?fields=id,title,createdAt : 고른 필드만 응답하고 조회하는 컬럼도 그만큼만 (모르는 필드는 400)
+    @GetMapping(value = "{id}", params = "fields")
+    @SqlBudget(statements = 2)
+    public ResponseEntity<SparseArticle> findArticleFields(@PathVariable long id, @RequestParam String fields,
+                                                           WebRequest webRequest) {
+        ArticleFieldSet fieldSet = ArticleFieldSet.parse(fields); // 모르는 필드는 IllegalArgumentException -> 400
+        boolean withViews = fieldSet.contains(ArticleField.VIEWS);
+
+        if (ArticleETags.isConditional(webRequest)) {
+            ArticleMetadata metadata = blogService.findMetadata(id);
+            String etag = withViews
+                    ? ArticleETags.of(metadata, metadata.getViews() + articleViewCounter.pending(id))
+                    : ArticleETags.of(metadata);
+            if (webRequest.checkNotModified(etag, withViews ? -1 : ArticleETags.lastModified(metadata))) {
+                return null;
+            }
+        }
+
+        SparseArticle article = blogService.findFieldsById(id, fieldSet)
+                .withPendingViews(articleViewCounter.pending(id));
+
+        return withValidators(ResponseEntity.ok(),
+                withViews ? ArticleETags.of(article, article.getViews()) : ArticleETags.of(article),
+                withViews ? -1 : ArticleETags.lastModified(article))
+                .body(article);
     }
 
     @GetMapping("") // readOne
-    public ResponseEntity<List<ArticleResponse>> findAllArticles() {
+    @SqlBudget(statements = 2) // 조건부 요청의 버전 조회 + 페이지 조회
+    // ?after=<커서>&limit=N : 전체 테이블 대신 커서 이후의 한 페이지만 조회
+    public ResponseEntity<List<ArticleSummaryResponse>> findAllArticles(@RequestParam(required = false) String after,
+                                                                 @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int limit,
+                                                                 WebRequest webRequest) {
+        Long afterId = CursorPage.decodeCursor(after); // 잘못된 커서는 400
+
+        if (ArticleETags.hasIfNoneMatch(webRequest)) { // 목록은 Last-Modified 없이 ETag로만 판단
+            CursorPage<ArticleVersion> versions = blogService.findPageVersions(afterId, limit);
+            Map<Long, Long> pending = pendingViews(versions);
+            if (webRequest.checkNotModified(ArticleETags.of(versions, views(pending)))) {
+                return null;
+            }
+        }
+
+        CursorPage<ArticleSummary> page = blogService.findPage(afterId, limit);
+        Map<Long, Long> pending = pendingViews(page);
+
         // 방식 2
-        List<ArticleResponse> articles = blogService.findAll()
+        List<ArticleSummaryResponse> articles = page.getContent()
                 .stream()
-                .map(article -> new ArticleResponse(article)) // ClassName::instanceMethod 인스턴스 메서드 참조(클래스 이름), ArticleResponse::new
+                .map(summary -> new ArticleSummaryResponse(summary, pending.get(summary.getId())))
+                .toList();
+
+        ResponseEntity.BodyBuilder response = withValidators(ResponseEntity.ok(),
+                ArticleETags.of(page, views(pending)), -1);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+
+        return response.body(articles);
+    }
+
+    @GetMapping(value = "", params = "fields")
+    @SqlBudget(statements = 2)
+    public ResponseEntity<List<SparseArticle>> findAllArticleFields(@RequestParam(required = false) String after,
+                                                                    @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int limit,
+                                                                    @RequestParam String fields,
+                                                                    WebRequest webRequest) {
+        ArticleFieldSet fieldSet = ArticleFieldSet.parse(fields); // 모르는 필드는 IllegalArgumentException -> 400
+        if (fieldSet.contains(ArticleField.CONTENT)) { // 목록은 본문을 조회하지 않음
+            throw new IllegalArgumentException("content is not available in article lists, use preview");
+        }
+        Long afterId = CursorPage.decodeCursor(after); // 잘못된 커서는 400
+        boolean withViews = fieldSet.contains(ArticleField.VIEWS);
+
+        if (ArticleETags.hasIfNoneMatch(webRequest)) { // 목록은 Last-Modified 없이 ETag로만 판단
+            CursorPage<ArticleVersion> versions = blogService.findPageVersions(afterId, limit);
+            String etag = withViews ? ArticleETags.of(versions, views(pendingViews(versions))) : ArticleETags.of(versions);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+        }
+
+        CursorPage<SparseArticle> page = blogService.findPageFields(afterId, limit, fieldSet);
+        Map<Long, Long> pending = pendingViews(page);
+
+        List<SparseArticle> articles = page.getContent()
+                .stream()
+                .map(article -> article.withPendingViews(pending.get(article.getId())))
+                .toList();
+
+        ResponseEntity.BodyBuilder response = withValidators(ResponseEntity.ok(),
+                withViews ? ArticleETags.of(page, views(pending)) : ArticleETags.of(page), -1);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+
+        return response.body(articles);
+    }
+
+    // 제목/본문 전문 검색 : 관련도 순으로 글 요약 목록을 반환
+    @GetMapping("search")
+    @SqlBudget(statements = 1) // 검색 결과 요약을 IN 조건으로 한 번에 조회
+    public ResponseEntity<List<ArticleSummaryResponse>> searchArticles(@RequestParam("q") String query,
+                                                                @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int limit) {
+        List<ArticleSummaryResponse> articles = blogService.search(query, limit)
+                .stream()
+                .map(summary -> new ArticleSummaryResponse(summary, articleViewCounter.pending(summary.getId())))
                 .toList();
 
         return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
                 .body(articles);
     }
 
+    // 전체 글 내보내기 : 한 줄에 글 하나씩 NDJSON으로 바로바로 응답에 씀 (전체 목록을 메모리에 만들지 않음)
+    // 서버 간 통신은 Accept로 CBOR sequence나 Smile을 요청하면 구분자 없이 글을 하나씩 이어 씀 (값 경계는 형식이 구분함)
+    @GetMapping(value = "export", produces = {MediaType.APPLICATION_NDJSON_VALUE,
+            BinaryFormatConfig.APPLICATION_CBOR_SEQ_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportArticles(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        List<MediaType> accepted = accept == null ? List.of() : MediaType.parseMediaTypes(accept);
+
+        if (accepted.contains(BinaryFormatConfig.APPLICATION_CBOR_SEQ)) {
+            return export(cborConverter.getObjectMapper(), BinaryFormatConfig.APPLICATION_CBOR_SEQ);
+        }
+        if (accepted.contains(BinaryFormatConfig.APPLICATION_SMILE)) {
+            return export(smileConverter.getObjectMapper(), BinaryFormatConfig.APPLICATION_SMILE);
+        }
+        return export(objectMapper, MediaType.APPLICATION_NDJSON);
+    }
+
+    // 글 추가/수정/삭제 알림 (Server-Sent Events) : 목록을 다시 불러오지 않고 바뀐 글만 받아서 고침
+    // 다시 연결할 때 브라우저가 보내는 Last-Event-ID 다음 이벤트부터 이어서 받음
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamArticles(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return articleStream.subscribe(lastEventId);
+    }
+
     // HTTP 메서드가 POST일 때 전달받은 URL과 동일하면 메서드로 매핑
     @PostMapping("")// createOne
+    @SqlBudget(statements = 3) // 시퀀스 할당(50개마다) + 글 INSERT + 본문 INSERT (본문 id는 글 id)
     // @RequestBody로 요청 본문 값 매핑
     public ResponseEntity<Article> addArticle(@RequestBody AddArticleRequest request) {
         Article savedArticle = blogService.create(request);
@@ -50,20 +236,91 @@ public class BlogApiController {
                 .body(savedArticle);
     }
 
+    // 여러 글을 한 번에 추가하고 생성된 id 목록을 반환
+    // 한 트랜잭션이 커넥션과 행 잠금을 오래 잡지 않도록 max-batch-size개까지만 받음 (넘으면 트랜잭션을 열기 전에 400)
+    @PostMapping("batch") // createMany
+    public ResponseEntity<List<Long>> addArticles(@RequestBody List<AddArticleRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("at most " + maxBatchSize + " articles can be added at once, got " + requests.size());
+        }
+        List<Long> ids = blogService.createAll(requests);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ids);
+    }
+
+    // If-Match 헤더에 ETag를 보내면 그 버전일 때만 수정 (다르면 412, 글이 없으면 404)
     @PutMapping("{id}") // updateOne
-    public ResponseEntity<Article> updateArticle(@PathVariable Long id,
-                                                 @RequestBody UpdateArticleRequest request) {
-        Article updateArticle = blogService.update(id, request);
+    @SqlBudget(statements = 3) // 글 UPDATE + 본문 UPDATE + If-Match가 없거나 여러 버전일 때 수정 후 버전 조회 (글 UPDATE가 실패하면 본문 대신 존재 여부 조회)
+    public ResponseEntity<ArticleResponse> updateArticle(@PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @RequestBody UpdateArticleRequest request) {
+        ArticleVersion updated = blogService.update(id, request, ArticleETags.parseIfMatch(ifMatch, id));
 
         return ResponseEntity.ok()
-                .body(updateArticle);
+                .eTag(ArticleETags.of(updated))
+                .body(new ArticleResponse(id, request));
     }
 
     @DeleteMapping("{id}") // deleteOne
-    public ResponseEntity<Void> deleteArticle(@PathVariable Long id) {
-        blogService.delete(id);
+    @SqlBudget(statements = 1) // 글 DELETE (본문은 DB가 ON DELETE CASCADE로 지움)
+    public ResponseEntity<Void> deleteArticle(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        blogService.delete(id, ArticleETags.parseIfMatch(ifMatch, id));
 
         return ResponseEntity.ok()
                 .build();
     }
+
+    private ResponseEntity<StreamingResponseBody> export(ObjectMapper mapper, MediaType mediaType) {
+        boolean lineDelimited = MediaType.APPLICATION_NDJSON.equals(mediaType);
+
+        // 한 건마다 flush 하지 않도록 설정 (버퍼가 찰 때만 전송), JSON은 줄바꿈을 직접 씀 (바이너리 형식은 구분자가 없음)
+        ObjectWriter valueWriter = mapper.writerFor(ArticleResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        ObjectWriter writer = lineDelimited ? valueWriter.withRootValueSeparator("") : valueWriter;
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                blogService.exportAll(article -> {
+                    try {
+                        writer.writeValue(generator, new ArticleResponse(article));
+                        if (lineDelimited) {
+                            generator.writeRaw('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(body);
+    }
+
+    // 응답 본문과 ETag가 같은 조회수를 쓰도록 아직 반영되지 않은 조회수를 글마다 한 번만 읽음
+    private Map<Long, Long> pendingViews(CursorPage<? extends ArticleMetadata> page) {
+        Map<Long, Long> pending = new HashMap<>();
+        for (ArticleMetadata article : page.getContent()) {
+            pending.put(article.getId(), articleViewCounter.pending(article.getId()));
+        }
+        return pending;
+    }
+
+    // 응답의 조회수 = DB 값 + 아직 반영되지 않은 값
+    private static ToLongFunction<ArticleMetadata> views(Map<Long, Long> pending) {
+        return article -> article.getViews() + pending.get(article.getId());
+    }
+
+    // 같은 URL이 Accept에 따라 JSON/CBOR/Smile로 응답하므로 캐시가 형식별로 따로 보관하도록 Vary 추가
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response,
+                                                             String etag, long lastModified) {
+        response.eTag(etag).varyBy(HttpHeaders.ACCEPT);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response;
+    }
 }
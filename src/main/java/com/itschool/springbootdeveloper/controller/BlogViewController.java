@@ -1,40 +1,51 @@
 package com.itschool.springbootdeveloper.controller;
 
-import com.itschool.springbootdeveloper.domain.Article;
-import com.itschool.springbootdeveloper.dto.ArticleListViewResponse;
+import com.itschool.springbootdeveloper.dto.ArticleSnapshot;
 import com.itschool.springbootdeveloper.dto.ArticleViewResponse;
+import com.itschool.springbootdeveloper.dto.CursorPage;
+import com.itschool.springbootdeveloper.service.ArticleViewCounter;
 import com.itschool.springbootdeveloper.service.BlogService;
+import com.itschool.springbootdeveloper.view.ArticleFragments;
+import com.itschool.springbootdeveloper.view.ArticlePageFragment;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
-
-import java.util.List;
+import org.springframework.web.server.ResponseStatusException;
 
 @RequiredArgsConstructor
 @Controller
 public class BlogViewController {
 
     private final BlogService blogService;
+    private final ArticleFragments articleFragments; // 렌더링된 글 카드/본문 캐시
+    private final ArticleViewCounter articleViewCounter; // 조회수 (메모리에 모았다가 주기적으로 반영)
 
     @GetMapping("/articles")
-    public String getArticles(Model model) {
-        List<ArticleListViewResponse> articles = blogService.findAll().stream()
-                .map(ArticleListViewResponse::new)
-                .toList();
+    public String getArticles(@RequestParam(required = false) String after, Model model) {
+        Long afterId = afterId(after);
+
+        // 카드 목록은 캐싱된 HTML을 사용하고, 캐시에 없을 때만 조회해서 렌더링
+        ArticlePageFragment page = articleFragments.page(afterId == null ? 0L : afterId,
+                () -> blogService.findPage(afterId, BlogService.DEFAULT_PAGE_SIZE));
+
+        model.addAttribute("articlesHtml", page.getHtml()); // 블로그 글 카드 목록 HTML
+        model.addAttribute("nextCursor", page.getNextCursor()); // 다음 페이지 커서 (없으면 null)
 
-        model.addAttribute("articles", articles); // 블로그 글 리스트 모델에 저장
-        
         return "articleList"; // articleList.html이라는 뷰 조회
     }
 
     @GetMapping("articles/{id}")
     public String getArticle(@PathVariable Long id, Model model) {
-        Article article = blogService.findById(id);
+        ArticleSnapshot article = blogService.findById(id);
+        articleViewCounter.increment(id);
 
-        model.addAttribute("article", new ArticleViewResponse(article));
+        // 수정/삭제 버튼용 id, 조회수 (조회수는 캐싱된 본문 조각 밖에서 매번 렌더링)
+        model.addAttribute("article", new ArticleViewResponse(article, articleViewCounter.pending(id)));
+        model.addAttribute("articleHtml", articleFragments.body(article)); // 글 제목, 작성일, 본문 HTML
 
         return "article"; // 뷰 리턴(article.html이 존재해야 함)
     }
@@ -42,24 +53,21 @@ public class BlogViewController {
     @GetMapping("/new-article")
     // id를 가진 쿼리 파라미터의 값을 id 변수에 매핑(id는 없을 수도 있음)
     public String newArticle(@RequestParam(required = false) Long id, Model model) {
-
-        System.out.println("--------------------------------");
-        System.out.println(id);
-        System.out.println("--------------------------------");
-
         if (id == null) { // id가 없으면 생성
             model.addAttribute("article", new ArticleViewResponse());
         } else { // id가 없으면 수정
-            Article article = blogService.findById(id);
+            ArticleSnapshot article = blogService.findById(id);
             model.addAttribute("article", new ArticleViewResponse(article));
         }
 
         return "newArticle";
     }
-}
-
-
-
-
-
 
+    private static Long afterId(String after) {
+        try {
+            return CursorPage.decodeCursor(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
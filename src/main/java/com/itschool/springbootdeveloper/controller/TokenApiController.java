@@ -0,0 +1,46 @@
+package com.itschool.springbootdeveloper.controller;
+
+import com.itschool.springbootdeveloper.config.jwt.TokenClaims;
+import com.itschool.springbootdeveloper.config.jwt.TokenProvider;
+import com.itschool.springbootdeveloper.dto.CreateAccessTokenRequest;
+import com.itschool.springbootdeveloper.dto.CreateAccessTokenResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// 무상태 토큰 모드에서 Bearer 토큰을 쓰는 클라이언트용 토큰 재발급 API
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnProperty(name = "blog.security.token.enabled", havingValue = "true")
+public class TokenApiController {
+
+    private final TokenProvider tokenProvider;
+
+    // refresh 토큰으로 새 access/refresh 토큰을 발급하고, 사용한 refresh 토큰은 폐기 (재사용 불가)
+    @PostMapping("/api/token")
+    public ResponseEntity<CreateAccessTokenResponse> createNewAccessToken(@RequestBody CreateAccessTokenRequest request) {
+        TokenClaims claims = tokenProvider.validate(request.getRefreshToken())
+                .filter(TokenClaims::isRefresh)
+                .orElse(null);
+
+        // 같은 refresh 토큰으로 동시에 들어온 요청 중 폐기를 선점한 하나만 새 토큰을 받음
+        if (claims == null || !tokenProvider.revoke(claims)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(claims.getAuthorities().toArray(String[]::new));
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new CreateAccessTokenResponse(
+                        tokenProvider.generateAccessToken(claims.getSubject(), authorities),
+                        tokenProvider.generateRefreshToken(claims.getSubject(), authorities)));
+    }
+}
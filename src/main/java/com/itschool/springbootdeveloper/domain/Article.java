@@ -2,6 +2,7 @@ package com.itschool.springbootdeveloper.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,17 +14,30 @@ import java.time.LocalDateTime;
 @Getter
 @EntityListeners(AuditingEntityListener.class)
 public class Article {
+
+    public static final int PREVIEW_LENGTH = 100; // 미리보기로 저장할 본문 길이
     
+    // IDENTITY는 INSERT를 실행해야 id를 알 수 있어서 JDBC 배치 INSERT가 불가능함
+    // 시퀀스(pooled)로 id를 50개씩 미리 할당받아 INSERT를 묶어서 보냄 (MySQL은 article_seq 테이블로 대체됨)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // 기본키를 자동으로 1씩 증가
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_seq")
+    @SequenceGenerator(name = "article_seq", sequenceName = "article_seq", allocationSize = 50)
     @Column(updatable = false)
     private Long id;
 
     @Column(nullable = false) // not null 컬럼
     private String title;
 
-    @Column(nullable = false) // not null 컬럼
-    private String content;
+    // 목록에 보여줄 본문 앞부분 : 목록 쿼리가 본문 테이블을 읽지 않도록 따로 저장
+    @Column(nullable = false, length = PREVIEW_LENGTH)
+    private String preview;
+
+    // 본문은 article_content 테이블에 (압축해서) 따로 저장하고, getContent()를 호출할 때 처음 조회함
+    // 본문 행은 글 id를 그대로 id로 쓰고 글을 외래 키(ON DELETE CASCADE)로 가리킴 -> 글을 지우면 DB가 본문도 지움 (DELETE 한 번)
+    // 본문 행이 항상 있고(optional = false) id가 글 id와 같으므로 조회하지 않고 프록시로 둠
+    @Getter(AccessLevel.NONE)
+    @OneToOne(mappedBy = "article", fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL)
+    private ArticleContent body;
 
     @CreatedDate
     @Column(name="created_at") // 엔티티가 생성될 때 생성 시간 저장
@@ -32,15 +46,45 @@ public class Article {
     @LastModifiedDate
     @Column(name="updated_at") // 엔티티가 수정될 때 수정 시간 저장
     private LocalDateTime updatedAt;
+
+    @Version // 낙관적 락 버전 : 수정할 때마다 1씩 증가, If-Match(ETag)로 동시 수정 충돌을 감지
+    @ColumnDefault("0") // 기존 행은 0부터 시작
+    @Column(nullable = false)
+    private Long version;
+
+    // 조회수 : 조회할 때마다 UPDATE 하지 않고 ArticleViewCounter가 메모리에 모았다가 주기적으로 한 번에 더함
+    // 버전(ETag)과 수정 시간은 바꾸지 않음
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long views;
     
     @Builder // 빌더 패턴으로 객체 생성
     public Article(String title, String content) {
         this.title = title;
-        this.content = content;
+        this.preview = preview(content);
+        this.body = new ArticleContent(this, content);
     }
 
     public void update(String title, String content) {
         this.title = title;
-        this.content = content;
+        this.preview = preview(content);
+        this.body.update(content);
+    }
+
+    // 본문 : 아직 조회하지 않았으면 이때 article_content를 조회함 (트랜잭션 안이거나 fetch join으로 함께 조회한 경우에만 사용)
+    public String getContent() {
+        return body.getText();
+    }
+
+    // 본문 앞 PREVIEW_LENGTH 글자 (서로게이트 쌍 중간에서 자르지 않음), 본문이 없으면 빈 문자열
+    public static String preview(String content) {
+        if (content == null) {
+            return "";
+        }
+        if (content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        int end = Character.isHighSurrogate(content.charAt(PREVIEW_LENGTH - 1)) ? PREVIEW_LENGTH - 1 : PREVIEW_LENGTH;
+        return content.substring(0, end);
     }
 }
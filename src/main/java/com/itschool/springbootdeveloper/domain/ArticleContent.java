@@ -0,0 +1,107 @@
+package com.itschool.springbootdeveloper.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 글 본문 : article 행에서 분리해서 따로 저장 (목록/수정 쿼리가 본문을 읽지 않도록)
+// id는 글 id와 같고(@MapsId), 외래 키에 ON DELETE CASCADE가 있어서 글을 지우면 본문 행도 함께 지워짐
+// 일정 크기 이상이면 Deflate로 압축해서 저장하고, 읽을 때 getText()에서 풀어줌
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class ArticleContent {
+
+    public static final int COMPRESSION_THRESHOLD = 1024; // 이보다 작은 본문(UTF-8 바이트)은 압축 이득이 적어서 그대로 저장
+
+    @Id
+    private Long id; // 글 id (따로 시퀀스를 쓰지 않음)
+
+    @Getter(AccessLevel.NONE)
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id", foreignKey = @ForeignKey(name = "fk_article_content_article",
+            foreignKeyDefinition = "foreign key (id) references article (id) on delete cascade"))
+    private Article article;
+
+    @Column(nullable = false) // body가 Deflate(zlib)로 압축돼 있는지
+    private boolean compressed;
+
+    @Column(name = "original_length", nullable = false) // 압축 전 UTF-8 바이트 수 (풀 때 버퍼 크기)
+    private int originalLength;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] body;
+
+    // 압축 규칙만 적용한 값 (UPDATE 문, 이관처럼 엔티티로 저장하지 않을 때)
+    public ArticleContent(String text) {
+        update(text);
+    }
+
+    ArticleContent(Article article, String text) {
+        this.article = article;
+        update(text);
+    }
+
+    public void update(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        byte[] deflated = utf8.length < COMPRESSION_THRESHOLD ? null : deflate(utf8);
+
+        this.compressed = deflated != null && deflated.length < utf8.length; // 작아지지 않으면 원본 저장
+        this.originalLength = utf8.length;
+        this.body = compressed ? deflated : utf8;
+    }
+
+    public String getText() {
+        return new String(compressed ? inflate(body, originalLength) : body, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end(); // 네이티브 메모리 바로 해제
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int originalLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[originalLength];
+            int length = 0;
+            while (length < originalLength && !inflater.finished()) {
+                int inflated = inflater.inflate(output, length, originalLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != originalLength) {
+                throw new IllegalStateException("corrupted article content: expected " + originalLength + " bytes, got " + length);
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("corrupted article content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.itschool.springbootdeveloper.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 폐기된 토큰 (로그아웃, refresh 토큰 교체) : 모든 노드가 같은 테이블을 보므로 한 노드에서 폐기한 refresh 토큰은 다른 노드에서도 거부됨
+// 만료 시각이 지난 행은 어차피 서명 검증에서 걸러지므로 주기적으로 삭제 (TokenRevocationList.sweep)
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+public class RevokedToken {
+
+    @Id
+    @Column(updatable = false)
+    private Long id; // 토큰의 jti (64비트)
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt; // 토큰 만료 시각 (epoch seconds)
+
+    public RevokedToken(long id, long expiresAt) {
+        this.id = id;
+        this.expiresAt = expiresAt;
+    }
+}
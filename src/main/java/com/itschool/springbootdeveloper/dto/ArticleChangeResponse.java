@@ -0,0 +1,24 @@
+package com.itschool.springbootdeveloper.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.itschool.springbootdeveloper.domain.Article;
+import lombok.Getter;
+
+// 글 변경 알림(SSE) 본문 : 목록 카드를 고치는 데 필요한 값만 담음 (삭제는 id만)
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleChangeResponse {
+    private final long id;
+    private final String title;
+    private final String content; // 목록과 같은 길이로 자른 미리보기
+
+    public ArticleChangeResponse(long id) {
+        this(id, null, null);
+    }
+
+    public ArticleChangeResponse(long id, String title, String content) {
+        this.id = id;
+        this.title = title;
+        this.content = content == null ? null : Article.preview(content);
+    }
+}
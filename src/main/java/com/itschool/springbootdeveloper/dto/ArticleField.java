@@ -0,0 +1,37 @@
+package com.itschool.springbootdeveloper.dto;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+// ?fields= 로 고를 수 있는 글 응답 필드 (선언 순서가 응답 JSON의 필드 순서)
+public enum ArticleField {
+
+    ID("id", null),
+    TITLE("title", "title"),
+    CONTENT("content", null), // 본문 : 단건만 고를 수 있음 (캐시의 스냅샷에서 꺼냄), 목록에서 고르면 400
+    PREVIEW("preview", "preview"), // 저장해 둔 미리보기 (본문 앞부분)
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", null),
+    VIEWS("views", "views");
+
+    private final String name;
+    private final SerializedString jsonName; // 필드 이름을 미리 인코딩해서 응답마다 문자열을 변환하지 않음
+    private final String attribute; // 목록 조회에서 추가로 select 할 엔티티 속성 (null이면 항상 조회하는 메타데이터)
+
+    ArticleField(String name, String attribute) {
+        this.name = name;
+        this.jsonName = new SerializedString(name);
+        this.attribute = attribute;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    SerializedString getJsonName() {
+        return jsonName;
+    }
+
+    String getAttribute() {
+        return attribute;
+    }
+}
@@ -0,0 +1,95 @@
+package com.itschool.springbootdeveloper.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// ?fields=id,title,createdAt 로 요청한 필드 조합
+// 조합마다 응답에 쓸 필드 순서와 조회할 컬럼(JPQL select 절)을 시작할 때 한 번만 만들어 두고, 요청은 같은 인스턴스를 받음
+public final class ArticleFieldSet {
+
+    private static final ArticleField[] FIELDS = ArticleField.values();
+    private static final Map<String, ArticleField> BY_NAME = new HashMap<>();
+    private static final ArticleFieldSet[] SETS = new ArticleFieldSet[1 << FIELDS.length]; // 비트마스크 -> 조합
+
+    static {
+        for (ArticleField field : FIELDS) {
+            BY_NAME.put(field.getName(), field);
+        }
+        for (int mask = 1; mask < SETS.length; mask++) {
+            SETS[mask] = new ArticleFieldSet(mask);
+        }
+    }
+
+    private final int mask;
+    private final List<ArticleField> fields; // 응답에 쓸 필드 (선언 순서)
+    private final List<ArticleField> columns; // 메타데이터(id, version, updatedAt) 다음에 조회할 필드
+    private final String projection; // 목록 조회의 select 절
+
+    private ArticleFieldSet(int mask) {
+        List<ArticleField> fields = new ArrayList<>();
+        List<ArticleField> columns = new ArrayList<>();
+        // ETag, Last-Modified, 다음 페이지 커서에 필요한 컬럼은 요청과 상관없이 조회
+        StringBuilder projection = new StringBuilder("a.id, a.version, a.updatedAt");
+
+        for (ArticleField field : FIELDS) {
+            if ((mask & (1 << field.ordinal())) == 0) {
+                continue;
+            }
+            fields.add(field);
+            if (field.getAttribute() != null) {
+                columns.add(field);
+                projection.append(", a.").append(field.getAttribute());
+            }
+        }
+
+        this.mask = mask;
+        this.fields = List.copyOf(fields);
+        this.columns = List.copyOf(columns);
+        this.projection = projection.toString();
+    }
+
+    // 쉼표로 구분한 필드 이름 (순서, 중복, 앞뒤 공백은 무시), 모르는 이름이 있거나 비어 있으면 IllegalArgumentException
+    public static ArticleFieldSet parse(String value) {
+        int mask = 0;
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            ArticleField field = BY_NAME.get(trimmed);
+            if (field == null) {
+                throw new IllegalArgumentException("unknown field: " + trimmed);
+            }
+            mask |= 1 << field.ordinal();
+        }
+
+        if (mask == 0) {
+            throw new IllegalArgumentException("fields must not be empty");
+        }
+        return SETS[mask];
+    }
+
+    public boolean contains(ArticleField field) {
+        return (mask & (1 << field.ordinal())) != 0;
+    }
+
+    public List<ArticleField> getFields() {
+        return fields;
+    }
+
+    public List<ArticleField> getColumns() {
+        return columns;
+    }
+
+    public String getProjection() {
+        return projection;
+    }
+
+    @Override
+    public String toString() {
+        return fields.stream().map(ArticleField::getName).toList().toString();
+    }
+}
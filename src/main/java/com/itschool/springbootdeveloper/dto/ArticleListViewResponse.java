@@ -14,4 +14,11 @@ public class ArticleListViewResponse {
         this.title = article.getTitle();
         this.content = article.getContent();
     }
+
+    // 목록 조회용 : 본문 대신 미리보기만 담음
+    public ArticleListViewResponse(ArticleSummary summary) {
+        this.id = summary.getId();
+        this.title = summary.getTitle();
+        this.content = summary.getPreview();
+    }
 }
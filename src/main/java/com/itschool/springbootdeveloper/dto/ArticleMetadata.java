@@ -0,0 +1,16 @@
+package com.itschool.springbootdeveloper.dto;
+
+import java.time.LocalDateTime;
+
+// 조건부 요청(ETag, Last-Modified, If-Match) 판단에 필요한 글 메타데이터
+// 본문을 읽지 않고도 변경 여부를 알 수 있도록 요약/스냅샷/버전 조회 결과가 공통으로 구현
+public interface ArticleMetadata {
+
+    Long getId();
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+
+    long getViews(); // DB에 반영된 조회수 (응답의 조회수는 여기에 아직 반영되지 않은 값을 더함)
+}
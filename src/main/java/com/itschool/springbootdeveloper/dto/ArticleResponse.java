@@ -1,5 +1,6 @@
 package com.itschool.springbootdeveloper.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.itschool.springbootdeveloper.domain.Article;
 import lombok.Getter;
 
@@ -8,10 +9,32 @@ public class ArticleResponse {
     private final Long id;
     private final String title;
     private final String content;
+    @JsonInclude(JsonInclude.Include.NON_NULL) // 수정 응답처럼 조회수를 모르는 경우에는 내려주지 않음
+    private final Long views; // DB에 반영된 조회수 + 아직 반영되지 않은 조회수
 
     public ArticleResponse(Article article) {
         this.id = article.getId();
         this.title = article.getTitle();
         this.content = article.getContent();
+        this.views = article.getViews();
+    }
+
+    public ArticleResponse(ArticleSnapshot article) {
+        this(article, 0);
+    }
+
+    public ArticleResponse(ArticleSnapshot article, long pendingViews) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.views = article.getViews() + pendingViews;
+    }
+
+    // 수정 직후 응답용 : 엔티티를 다시 조회하지 않고 요청 값으로 응답
+    public ArticleResponse(Long id, UpdateArticleRequest request) {
+        this.id = id;
+        this.title = request.getTitle();
+        this.content = request.getContent();
+        this.views = null;
     }
 }
@@ -0,0 +1,57 @@
+package com.itschool.springbootdeveloper.dto;
+
+import com.itschool.springbootdeveloper.domain.Article;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 캐시에 보관하는 불변 글 스냅샷
+// 영속성 컨텍스트에 묶인 Article 엔티티를 캐시에 넣으면 지연 로딩/변경 감지 문제가 생기므로 값만 복사해서 보관
+@Getter
+public final class ArticleSnapshot implements ArticleMetadata {
+
+    private final Long id;
+    private final Long version;
+    private final String title;
+    private final String content;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final long views; // DB에 반영된 조회수 (아직 반영되지 않은 조회수는 ArticleViewCounter에 있음)
+    private final long flushMark; // 글을 읽은 직후의 조회수 반영 차수 (ArticleViewCounter.flushMark)
+
+    private ArticleSnapshot(Article article, long flushMark) {
+        this.id = article.getId();
+        this.version = article.getVersion();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.createdAt = article.getCreatedAt();
+        this.updatedAt = article.getUpdatedAt();
+        this.views = article.getViews();
+        this.flushMark = flushMark;
+    }
+
+    private ArticleSnapshot(ArticleSnapshot snapshot, long views) {
+        this.id = snapshot.id;
+        this.version = snapshot.version;
+        this.title = snapshot.title;
+        this.content = snapshot.content;
+        this.createdAt = snapshot.createdAt;
+        this.updatedAt = snapshot.updatedAt;
+        this.views = views;
+        this.flushMark = snapshot.flushMark;
+    }
+
+    // 반영 차수를 모르면 이후 반영마다 캐시에서 제거됨
+    public static ArticleSnapshot from(Article article) {
+        return from(article, Long.MAX_VALUE);
+    }
+
+    public static ArticleSnapshot from(Article article, long flushMark) {
+        return new ArticleSnapshot(article, flushMark);
+    }
+
+    // 이 서버가 반영한 조회수를 더한 스냅샷 (ArticleViewCounter.flush)
+    public ArticleSnapshot withViews(long views) {
+        return new ArticleSnapshot(this, views);
+    }
+}
@@ -0,0 +1,24 @@
+package com.itschool.springbootdeveloper.dto;
+
+import com.itschool.springbootdeveloper.domain.Article;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 목록 화면용 요약 프로젝션 : 엔티티 대신 필요한 컬럼만 JPQL 생성자 표현식(select new ...)으로 바로 받음
+// 영속성 컨텍스트에 올라가지 않으므로 스냅샷/더티 체킹 비용이 없음
+@AllArgsConstructor
+@Getter
+public class ArticleSummary implements ArticleMetadata {
+
+    public static final int PREVIEW_LENGTH = Article.PREVIEW_LENGTH; // 미리보기 길이 (글을 저장할 때 잘라서 article.preview에 저장)
+
+    private final Long id;
+    private final Long version;
+    private final String title;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final String preview;
+    private final long views; // DB에 반영된 조회수
+}
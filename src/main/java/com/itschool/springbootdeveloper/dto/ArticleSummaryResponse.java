@@ -0,0 +1,24 @@
+package com.itschool.springbootdeveloper.dto;
+
+import lombok.Getter;
+
+// 목록/검색 응답 : 본문(content) 대신 저장해 둔 미리보기(preview)만 담음
+// 본문이 필요하면 단건 조회(/api/articles/{id})를 사용
+@Getter
+public class ArticleSummaryResponse {
+    private final Long id;
+    private final String title;
+    private final String preview;
+    private final long views; // DB에 반영된 조회수 + 아직 반영되지 않은 조회수
+
+    public ArticleSummaryResponse(ArticleSummary summary) {
+        this(summary, 0);
+    }
+
+    public ArticleSummaryResponse(ArticleSummary summary, long pendingViews) {
+        this.id = summary.getId();
+        this.title = summary.getTitle();
+        this.preview = summary.getPreview();
+        this.views = summary.getViews() + pendingViews;
+    }
+}
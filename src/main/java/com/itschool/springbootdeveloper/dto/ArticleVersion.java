@@ -0,0 +1,22 @@
+package com.itschool.springbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// id, 버전, 수정 시간, 조회수만 담는 가장 가벼운 프로젝션 (304/412 응답 여부 판단용)
+@AllArgsConstructor
+@Getter
+public class ArticleVersion implements ArticleMetadata {
+
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+    private final long views;
+
+    // 수정 직후 결과용 : 조회수는 알 수 없음
+    public ArticleVersion(Long id, Long version, LocalDateTime updatedAt) {
+        this(id, version, updatedAt, 0);
+    }
+}
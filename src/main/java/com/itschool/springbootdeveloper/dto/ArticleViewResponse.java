@@ -14,11 +14,25 @@ public class ArticleViewResponse {
     private String title;
     private String content;
     private LocalDateTime createdAt;
+    private long views; // DB에 반영된 조회수 + 아직 반영되지 않은 조회수
 
     public ArticleViewResponse(Article article) {
         this.id = article.getId();;
         this.title = article.getTitle();
         this.content = article.getContent();
         this.createdAt = article.getCreatedAt();
+        this.views = article.getViews();
+    }
+
+    public ArticleViewResponse(ArticleSnapshot article) {
+        this(article, 0);
+    }
+
+    public ArticleViewResponse(ArticleSnapshot article, long pendingViews) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.createdAt = article.getCreatedAt();
+        this.views = article.getViews() + pendingViews;
     }
 }
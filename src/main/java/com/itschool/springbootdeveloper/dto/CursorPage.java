@@ -0,0 +1,55 @@
+package com.itschool.springbootdeveloper.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// 커서(키셋) 기반 페이지 : OFFSET 없이 마지막으로 본 키 이후만 조회하기 때문에 몇 페이지를 넘기든 비용이 같음
+@Getter
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor; // 다음 페이지가 없으면 null
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    // limit + 1 개를 조회한 결과로 페이지를 만듦, 남는 한 개가 있으면 다음 페이지가 있다는 뜻
+    public static <T> CursorPage<T> of(List<T> rows, int limit, ToLongFunction<T> keyExtractor) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<T> content = rows.subList(0, limit);
+        return new CursorPage<>(content, encodeCursor(keyExtractor.applyAsLong(content.get(limit - 1))));
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    // 클라이언트가 내부 키 구조에 의존하지 않도록 불투명한 문자열로 인코딩
+    public static String encodeCursor(long key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(key).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // 커서가 없으면 null (첫 페이지)
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) { // NumberFormatException 포함
+            throw new IllegalArgumentException("invalid cursor: " + cursor, e);
+        }
+    }
+}
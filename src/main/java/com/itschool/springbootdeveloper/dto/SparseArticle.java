@@ -0,0 +1,96 @@
+package com.itschool.springbootdeveloper.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.itschool.springbootdeveloper.domain.Article;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+// ?fields= 로 고른 필드만 담은 글 응답
+// 요청하지 않은 컬럼은 조회하지 않으므로 값이 없고, 직렬화도 조합의 필드 목록만 순서대로 씀 (리플렉션으로 getter를 찾지 않음)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@JsonSerialize(using = SparseArticle.Serializer.class)
+public final class SparseArticle implements ArticleMetadata {
+
+    private final ArticleFieldSet fields;
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+    private final String title;
+    private final String content;
+    private final String preview;
+    private final LocalDateTime createdAt;
+    private final long views;
+
+    // 목록 조회 결과 한 행 : id, version, updatedAt 다음에 fields.getColumns() 순서로 값이 옴
+    public static SparseArticle fromRow(ArticleFieldSet fields, Object[] row) {
+        String title = null;
+        String preview = null;
+        LocalDateTime createdAt = null;
+        long views = 0;
+
+        int index = 3;
+        for (ArticleField column : fields.getColumns()) {
+            Object value = row[index++];
+            switch (column) {
+                case TITLE -> title = (String) value;
+                case PREVIEW -> preview = (String) value;
+                case CREATED_AT -> createdAt = (LocalDateTime) value;
+                case VIEWS -> views = (Long) value;
+                default -> throw new IllegalStateException("not a column: " + column);
+            }
+        }
+
+        return new SparseArticle(fields, (Long) row[0], (Long) row[1], (LocalDateTime) row[2], title, null, preview,
+                createdAt, views);
+    }
+
+    // 캐시의 스냅샷에서 고른 필드만 꺼냄 (content는 본문 전체, preview는 저장할 때와 같은 방식으로 본문에서 자름)
+    public static SparseArticle from(ArticleFieldSet fields, ArticleSnapshot article) {
+        String preview = fields.contains(ArticleField.PREVIEW) ? Article.preview(article.getContent()) : null;
+        return new SparseArticle(fields, article.getId(), article.getVersion(), article.getUpdatedAt(),
+                article.getTitle(), article.getContent(), preview, article.getCreatedAt(), article.getViews());
+    }
+
+    // 응답의 조회수 = DB 값 + 아직 반영되지 않은 값 (조회수를 요청하지 않았으면 그대로)
+    public SparseArticle withPendingViews(long pendingViews) {
+        if (pendingViews == 0 || !fields.contains(ArticleField.VIEWS)) {
+            return this;
+        }
+        return new SparseArticle(fields, id, version, updatedAt, title, content, preview, createdAt,
+                views + pendingViews);
+    }
+
+    static final class Serializer extends StdSerializer<SparseArticle> {
+
+        Serializer() {
+            super(SparseArticle.class);
+        }
+
+        @Override
+        public void serialize(SparseArticle article, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(article);
+            for (ArticleField field : article.fields.getFields()) {
+                gen.writeFieldName(field.getJsonName());
+                switch (field) {
+                    case ID -> gen.writeNumber(article.id);
+                    case TITLE -> gen.writeString(article.title);
+                    case CONTENT -> gen.writeString(article.content);
+                    case PREVIEW -> gen.writeString(article.preview);
+                    // 날짜는 다른 응답과 같은 형식이 되도록 매퍼에 등록된 직렬화기를 사용 (spring.jackson.* 설정 반영)
+                    case CREATED_AT -> provider.defaultSerializeValue(article.createdAt, gen);
+                    case UPDATED_AT -> provider.defaultSerializeValue(article.updatedAt, gen);
+                    case VIEWS -> gen.writeNumber(article.views);
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.itschool.springbootdeveloper.event;
+
+import lombok.Getter;
+
+// 글 추가 : 색인 등 파생 데이터를 만들 수 있도록 제목과 본문을 함께 담음
+@Getter
+public class ArticleCreated extends ArticleEvent {
+
+    private final String title;
+    private final String content;
+
+    public ArticleCreated(long articleId, long version, String title, String content) {
+        super(articleId, version);
+        this.title = title;
+        this.content = content;
+    }
+}
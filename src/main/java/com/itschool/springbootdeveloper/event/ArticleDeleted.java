@@ -0,0 +1,9 @@
+package com.itschool.springbootdeveloper.event;
+
+// 글 삭제 : 삭제 뒤에는 어떤 버전도 반영하지 않도록 가장 큰 버전으로 취급
+public class ArticleDeleted extends ArticleEvent {
+
+    public ArticleDeleted(long articleId) {
+        super(articleId, Long.MAX_VALUE);
+    }
+}
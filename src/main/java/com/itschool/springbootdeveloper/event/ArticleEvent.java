@@ -0,0 +1,14 @@
+package com.itschool.springbootdeveloper.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 글 변경 도메인 이벤트 : 커밋된 뒤에 ArticleEventPipeline으로 발행되고, 각 consumer가 자기 스레드에서 처리
+// 커밋 순서와 발행 순서가 다를 수 있으므로(커밋 후 훅이 서로 다른 요청 스레드에서 실행됨) 커밋된 버전을 함께 담음
+@Getter
+@RequiredArgsConstructor
+public abstract class ArticleEvent {
+
+    private final long articleId;
+    private final long version; // 커밋된 글 버전 (삭제는 Long.MAX_VALUE)
+}
@@ -0,0 +1,20 @@
+package com.itschool.springbootdeveloper.event;
+
+import java.util.List;
+
+// 글 이벤트를 처리하는 단계 : 빈으로 등록하면 ArticleEventPipeline이 전용 스레드에서 발행 순서대로 묶어서 넘겨줌
+// 처리가 느리면 버퍼가 찰 때까지 뒤처지고(lag), 버퍼가 차면 발행하는 쪽이 기다림
+// publish-timeout 동안 자리가 나지 않으면 이벤트를 버리고 모든 consumer에 missedEvents()로 알림 (이벤트가 빠질 수 있음)
+// 발행 순서가 커밋 순서와 다를 수 있으므로 글마다 버전(ArticleEvent.getVersion)을 보고 오래된 이벤트는 무시해야 함
+public interface ArticleEventConsumer {
+
+    // 메트릭 태그, 스레드 이름에 사용
+    String name();
+
+    // 한 번에 도착한 이벤트들 (발행 순서)
+    void accept(List<ArticleEvent> events);
+
+    // 버려진 이벤트가 있음 : 이 consumer의 스레드에서 다음 묶음 전에 호출 (파생 데이터를 다시 만들거나 무효화)
+    default void missedEvents() {
+    }
+}
@@ -0,0 +1,289 @@
+package com.itschool.springbootdeveloper.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// 글 변경 이벤트 파이프라인 : 크기가 정해진 링 버퍼 하나에 이벤트를 쌓고, consumer마다 전용 스레드가 자기 위치부터 읽어감
+// - 발행(publish)은 잠금 없이 CAS로 칸을 할당하고 쓰기만 하므로, consumer가 늘어나도 쓰기 요청의 응답 시간은 그대로
+// - consumer는 쌓인 이벤트를 최대 maxBatchSize개씩 묶어서 처리
+// - 가장 느린 consumer가 아직 읽지 않은 칸은 덮어쓰지 않고 발행하는 쪽이 기다림 (backpressure)
+//   발행은 커밋한 요청 스레드에서 하므로 그동안 응답이 늦어짐, publish-timeout 동안 자리가 나지 않으면 이벤트를 버리고 blog.events.dropped로 셈
+//   버린 뒤에는 consumer마다 자기 스레드에서 missedEvents()를 호출해서 빠진 이벤트를 복구하게 함
+// - 모든 consumer가 지나간 칸은 비워서, 버퍼가 한 바퀴 돌 때까지 이벤트(제목, 본문)를 붙잡아 두지 않음
+// - consumer별로 밀린 이벤트 수를 blog.events.lag 메트릭으로 노출
+@Slf4j
+@Component
+public class ArticleEventPipeline {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50); // 깨우는 신호를 놓쳤을 때를 대비한 최대 대기
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final ArticleEvent[] slots;
+    private final AtomicLongArray published; // 칸마다 마지막으로 발행이 끝난 sequence (쓰기가 끝났다는 표시)
+    private final int mask;
+    private final int maxBatchSize;
+    private final long publishTimeoutNanos;
+    private final AtomicLong claimed = new AtomicLong(-1); // 마지막으로 할당한 sequence
+    private final AtomicLong cleared = new AtomicLong(-1); // 이 값까지의 칸은 모든 consumer가 처리했고 비워짐 (발행하는 쪽이 다시 써도 됨)
+    private final Object clearLock = new Object();
+    private final List<Stage> stages = new ArrayList<>();
+    private final Counter publishedEvents = Metrics.counter("blog.events.published");
+    private final Counter backpressureWaits = Metrics.counter("blog.events.backpressure");
+    private final Counter droppedEvents = Metrics.counter("blog.events.dropped");
+    private volatile boolean running = true;
+
+    @Autowired
+    public ArticleEventPipeline(ObjectProvider<ArticleEventConsumer> consumers,
+                                @Value("${blog.events.buffer-size:1024}") int bufferSize,
+                                @Value("${blog.events.max-batch-size:256}") int maxBatchSize,
+                                @Value("${blog.events.publish-timeout:5s}") Duration publishTimeout) {
+        this(consumers.orderedStream().toList(), bufferSize, maxBatchSize, publishTimeout);
+    }
+
+    ArticleEventPipeline(List<ArticleEventConsumer> consumers, int bufferSize, int maxBatchSize, Duration publishTimeout) {
+        int capacity = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(bufferSize, 2) - 1)); // 2의 거듭제곱으로 올림
+        this.slots = new ArticleEvent[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.maxBatchSize = maxBatchSize;
+        this.publishTimeoutNanos = publishTimeout.toNanos();
+
+        consumers.forEach(consumer -> stages.add(new Stage(consumer)));
+        stages.forEach(stage -> stage.thread.start());
+    }
+
+    // 커밋된 뒤에 호출 : 버퍼에 빈 칸이 있으면 바로 반환
+    // 가득 차 있으면 호출한 스레드(커밋한 요청)가 최대 publish-timeout 동안 기다리고, 그래도 자리가 없으면 이벤트를 버림
+    public void publish(ArticleEvent event) {
+        if (!running) {
+            log.warn("article event pipeline is stopped, dropping event for article {}", event.getArticleId());
+            return;
+        }
+
+        long sequence = claim();
+        if (sequence < 0) {
+            droppedEvents.increment();
+            log.error("article event buffer stayed full for {} ms, dropping event for article {}",
+                    TimeUnit.NANOSECONDS.toMillis(publishTimeoutNanos), event.getArticleId());
+            for (Stage stage : stages) {
+                stage.missed = true;
+                stage.wakeUp();
+            }
+            return;
+        }
+
+        int index = index(sequence);
+        slots[index] = event;
+        published.set(index, sequence); // volatile 쓰기 : consumer가 이 값을 보면 slots[index]도 보임
+        publishedEvents.increment();
+
+        for (Stage stage : stages) {
+            stage.wakeUp();
+        }
+    }
+
+    // 지금까지 발행한 이벤트를 모든 consumer가 처리할 때까지 대기 (종료할 때, 테스트에서 사용)
+    public boolean awaitConsumers(Duration timeout) {
+        long target = claimed.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (minimumConsumed() < target) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!awaitConsumers(Duration.ofSeconds(5))) {
+            log.warn("article event consumers did not catch up before shutdown");
+        }
+
+        running = false;
+        for (Stage stage : stages) {
+            LockSupport.unpark(stage.thread);
+            stage.thread.join(TimeUnit.SECONDS.toMillis(1));
+        }
+    }
+
+    // 칸을 할당하고 sequence를 반환, publish-timeout 동안 빈 칸이 나지 않으면 -1
+    private long claim() {
+        long deadline = 0;
+
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+
+            // 한 바퀴 전의 같은 칸이 아직 비워지지 않았으면(가장 느린 consumer가 읽지 않았으면) 기다림
+            if (next - slots.length > released()) {
+                if (deadline == 0) {
+                    backpressureWaits.increment();
+                    deadline = System.nanoTime() + publishTimeoutNanos;
+                } else if (System.nanoTime() - deadline >= 0) {
+                    return -1;
+                }
+                LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+                continue;
+            }
+
+            if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    // 발행하는 쪽이 다시 써도 되는 마지막 sequence (consumer가 없으면 아무도 읽지 않으므로 제한 없음)
+    private long released() {
+        return stages.isEmpty() ? Long.MAX_VALUE : cleared.get();
+    }
+
+    // 모든 consumer가 지나간 칸을 비움 (consumer 스레드가 묶음을 처리할 때마다 호출)
+    // 비운 다음에 cleared를 올리므로, 발행하는 쪽은 비워진 칸에만 새 이벤트를 씀
+    private void clearConsumed() {
+        synchronized (clearLock) {
+            long minimum = minimumConsumed();
+            long from = cleared.get() + 1;
+            for (long s = from; s <= minimum; s++) {
+                slots[index(s)] = null;
+            }
+            if (minimum >= from) {
+                cleared.set(minimum);
+            }
+        }
+    }
+
+    // 테스트용 : 아직 비워지지 않은 칸 수
+    int retainedEvents() {
+        synchronized (clearLock) {
+            int count = 0;
+            for (ArticleEvent slot : slots) {
+                if (slot != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private long minimumConsumed() {
+        long minimum = Long.MAX_VALUE;
+        for (Stage stage : stages) {
+            minimum = Math.min(minimum, stage.sequence.get());
+        }
+        return minimum;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    // consumer 하나를 실행하는 스레드와 그 consumer가 처리를 마친 위치
+    private final class Stage implements Runnable {
+
+        private final ArticleEventConsumer consumer;
+        private final AtomicLong sequence = new AtomicLong(-1); // 처리를 마친 마지막 sequence
+        private final Thread thread;
+        private final Counter consumed;
+        private final Counter failures;
+        private volatile boolean waiting;
+        private volatile boolean missed; // 버려진 이벤트가 있음 (다음 묶음 전에 consumer.missedEvents 호출)
+
+        private Stage(ArticleEventConsumer consumer) {
+            this.consumer = consumer;
+            this.thread = new Thread(this, "article-events-" + consumer.name());
+            this.thread.setDaemon(true);
+            this.consumed = Metrics.counter("blog.events.consumed", "consumer", consumer.name());
+            this.failures = Metrics.counter("blog.events.failures", "consumer", consumer.name());
+            Metrics.gauge("blog.events.lag", Tags.of("consumer", consumer.name()), this,
+                    stage -> claimed.get() - stage.sequence.get());
+        }
+
+        @Override
+        public void run() {
+            List<ArticleEvent> batch = new ArrayList<>(maxBatchSize);
+
+            while (true) {
+                if (missed) {
+                    missed = false;
+                    notifyMissed();
+                }
+
+                long next = sequence.get() + 1;
+                long end = next;
+                while (end - next < maxBatchSize && published.get(index(end)) == end) {
+                    end++;
+                }
+
+                if (end == next) {
+                    if (!running) {
+                        return;
+                    }
+                    await(next);
+                    continue;
+                }
+
+                for (long s = next; s < end; s++) {
+                    batch.add(slots[index(s)]);
+                }
+
+                try {
+                    consumer.accept(batch);
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    log.error("article event consumer {} failed on {} events", consumer.name(), batch.size(), e);
+                } finally {
+                    batch.clear();
+                    sequence.set(end - 1); // 모든 consumer가 이 값을 지나면 칸을 비우고 다시 씀
+                    consumed.increment(end - next);
+                }
+                clearConsumed();
+            }
+        }
+
+        private void notifyMissed() {
+            try {
+                consumer.missedEvents();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.error("article event consumer {} failed to recover from dropped events", consumer.name(), e);
+            }
+        }
+
+        // 새 이벤트가 없으면 발행하는 쪽이 깨울 때까지 대기
+        // waiting을 먼저 쓰고 다시 확인하므로, 그 사이에 발행된 이벤트는 여기서 보거나 발행하는 쪽이 깨움
+        private void await(long next) {
+            waiting = true;
+            if (running && !missed && published.get(index(next)) != next) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            waiting = false;
+        }
+
+        private void wakeUp() {
+            if (waiting) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+}
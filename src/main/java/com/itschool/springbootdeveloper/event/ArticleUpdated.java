@@ -0,0 +1,17 @@
+package com.itschool.springbootdeveloper.event;
+
+import lombok.Getter;
+
+// 글 수정 : 수정된 제목과 본문
+@Getter
+public class ArticleUpdated extends ArticleEvent {
+
+    private final String title;
+    private final String content;
+
+    public ArticleUpdated(long articleId, long version, String title, String content) {
+        super(articleId, version);
+        this.title = title;
+        this.content = content;
+    }
+}
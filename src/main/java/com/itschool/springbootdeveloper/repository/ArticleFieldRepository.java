@@ -0,0 +1,17 @@
+package com.itschool.springbootdeveloper.repository;
+
+import com.itschool.springbootdeveloper.dto.ArticleFieldSet;
+import com.itschool.springbootdeveloper.dto.SparseArticle;
+
+import java.util.List;
+import java.util.Optional;
+
+// ?fields= 로 고른 컬럼만 조회하는 쿼리 (select 절이 필드 조합마다 달라서 @Query 대신 직접 구현, BlogRepository에 합쳐짐)
+public interface ArticleFieldRepository {
+
+    // findSummariesByIdGreaterThan과 같은 키셋 페이지네이션
+    List<SparseArticle> findFieldsByIdGreaterThan(ArticleFieldSet fields, Long id, int limit);
+
+    // 본문 테이블은 읽지 않음 (본문이 필요하면 캐시를 거치는 단건 조회를 사용)
+    Optional<SparseArticle> findFieldsById(ArticleFieldSet fields, Long id);
+}
@@ -0,0 +1,44 @@
+package com.itschool.springbootdeveloper.repository;
+
+import com.itschool.springbootdeveloper.dto.ArticleField;
+import com.itschool.springbootdeveloper.dto.ArticleFieldSet;
+import com.itschool.springbootdeveloper.dto.SparseArticle;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class ArticleFieldRepositoryImpl implements ArticleFieldRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SparseArticle> findFieldsByIdGreaterThan(ArticleFieldSet fields, Long id, int limit) {
+        return entityManager.createQuery("select " + fields.getProjection()
+                        + " from Article a where a.id > :id order by a.id", Object[].class)
+                .setParameter("id", id)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> SparseArticle.fromRow(fields, row))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SparseArticle> findFieldsById(ArticleFieldSet fields, Long id) {
+        if (fields.contains(ArticleField.CONTENT)) { // 본문은 select 절에 없으므로 캐시(findById)에서 꺼내야 함
+            throw new IllegalStateException("content is not a selectable column");
+        }
+
+        return entityManager.createQuery("select " + fields.getProjection()
+                        + " from Article a where a.id = :id", Object[].class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(row -> SparseArticle.fromRow(fields, row));
+    }
+}
@@ -1,9 +1,125 @@
 package com.itschool.springbootdeveloper.repository;
 
 import com.itschool.springbootdeveloper.domain.Article;
+import com.itschool.springbootdeveloper.domain.ArticleContent;
+import com.itschool.springbootdeveloper.dto.ArticleSummary;
+import com.itschool.springbootdeveloper.dto.ArticleVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BlogRepository extends JpaRepository<Article, Long> {
+public interface BlogRepository extends JpaRepository<Article, Long>, ArticleFieldRepository {
+
+    // 직접 선언한 조회 메서드는 JpaRepository 기본 메서드와 달리 읽기 전용 트랜잭션이 붙지 않으므로 직접 지정
+    // (복제 DB가 설정돼 있으면 복제 DB에서 실행됨)
+
+    // 키셋 페이지네이션 : id > 커서 조건으로 PK 인덱스 범위만 읽음 (OFFSET 없음)
+    // 목록에 필요한 컬럼과 저장해 둔 본문 미리보기만 조회 (본문 테이블은 읽지 않음)
+    // Pageable은 LIMIT 용도로만 사용 (List 반환이라 count 쿼리가 나가지 않음)
+    @Transactional(readOnly = true)
+    @Query("select new com.itschool.springbootdeveloper.dto.ArticleSummary(" +
+            "a.id, a.version, a.title, a.createdAt, a.updatedAt, a.preview, a.views) " +
+            "from Article a where a.id > :id order by a.id")
+    List<ArticleSummary> findSummariesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    // 검색 결과 id 목록의 요약을 한 번에 조회 (IN 조건, 순서는 호출하는 쪽에서 맞춤)
+    @Transactional(readOnly = true)
+    @Query("select new com.itschool.springbootdeveloper.dto.ArticleSummary(" +
+            "a.id, a.version, a.title, a.createdAt, a.updatedAt, a.preview, a.views) " +
+            "from Article a where a.id in :ids")
+    List<ArticleSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 조건부 요청용 메타데이터 조회 : 같은 범위에서 id, 버전, updated_at, 조회수만 읽음
+    @Transactional(readOnly = true)
+    @Query("select new com.itschool.springbootdeveloper.dto.ArticleVersion(a.id, a.version, a.updatedAt, a.views) " +
+            "from Article a where a.id > :id order by a.id")
+    List<ArticleVersion> findVersionsByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.itschool.springbootdeveloper.dto.ArticleVersion(a.id, a.version, a.updatedAt, a.views) " +
+            "from Article a where a.id = :id")
+    Optional<ArticleVersion> findVersionById(@Param("id") Long id);
+
+    // 단건 조회 : 지연 로딩되는 본문을 같은 쿼리에서 fetch join (트랜잭션이 끝난 뒤 스냅샷을 만들 때 추가 조회 없음)
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = "body")
+    Optional<Article> findWithContentById(Long id);
+
+    // 단일 UPDATE 문으로 수정 (엔티티를 먼저 SELECT 하지 않음), 버전이 versions 중 하나일 때만 수정하고 버전을 1 올림
+    // 반환값은 수정된 행 수 : 0이면 글이 없거나 다른 요청이 먼저 수정한 것
+    @Modifying
+    @Query("update Article a set a.title = :title, a.preview = :preview, a.updatedAt = :updatedAt, " +
+            "a.version = a.version + 1 where a.id = :id and a.version in :versions")
+    int updateIfVersionMatches(@Param("id") Long id, @Param("versions") Collection<Long> versions, @Param("title") String title,
+                               @Param("preview") String preview, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // 버전 확인 없이 단일 UPDATE 문으로 수정
+    @Modifying
+    @Query("update Article a set a.title = :title, a.preview = :preview, a.updatedAt = :updatedAt, " +
+            "a.version = a.version + 1 where a.id = :id")
+    int updateDirectly(@Param("id") Long id, @Param("title") String title,
+                       @Param("preview") String preview, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // 수정한 트랜잭션 안에서 현재 버전만 조회 (버전 확인 없이 수정했을 때 수정 후 버전을 알아내기 위함)
+    @Query("select a.version from Article a where a.id = :id")
+    long findCurrentVersion(@Param("id") Long id);
+
+    // 글의 본문만 UPDATE (본문 행을 먼저 읽지 않음), 압축은 ArticleContent가 함
+    default void updateContent(Long id, String content) {
+        ArticleContent encoded = new ArticleContent(content);
+        updateContent(id, encoded.isCompressed(), encoded.getOriginalLength(), encoded.getBody());
+    }
+
+    @Modifying
+    @Query("update ArticleContent c set c.compressed = :compressed, c.originalLength = :originalLength, c.body = :body " +
+            "where c.id = :id") // 본문 id는 글 id와 같음
+    int updateContent(@Param("id") Long id, @Param("compressed") boolean compressed,
+                      @Param("originalLength") int originalLength, @Param("body") byte[] body);
+
+    // 단일 DELETE 문으로 삭제 (deleteById 처럼 먼저 SELECT 하지 않음, 본문 행은 외래 키의 ON DELETE CASCADE로 DB가 지움)
+    @Modifying
+    @Query("delete from Article a where a.id = :id and a.version in :versions")
+    int deleteIfVersionMatches(@Param("id") Long id, @Param("versions") Collection<Long> versions);
+
+    @Modifying
+    @Query("delete from Article a where a.id = :id")
+    int deleteDirectly(@Param("id") Long id);
+
+    // 전체 글을 한 번에 List로 올리지 않고 JDBC 커서로 순방향 스트리밍
+    // 반드시 트랜잭션 안에서 사용하고 다 쓴 뒤 close 해야 함
+    // (MySQL은 JDBC URL에 useCursorFetch=true 가 있어야 fetch size 단위로 끊어서 가져옴)
+    @EntityGraph(attributePaths = "body") // 본문도 같은 쿼리에서 fetch join
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Article> streamAllByOrderByIdAsc();
+
+    // 이 시각 이후에 추가/수정된 글만 스트리밍 (다른 서버의 변경을 검색 색인에 가져올 때)
+    @EntityGraph(attributePaths = "body")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Article> streamByUpdatedAtGreaterThanEqualOrderByIdAsc(LocalDateTime updatedAt);
+
+    // 전체 글 id만 스트리밍 (다른 서버에서 삭제된 글을 찾을 때)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select a.id from Article a")
+    Stream<Long> streamAllIds();
 }
@@ -0,0 +1,29 @@
+package com.itschool.springbootdeveloper.repository;
+
+import com.itschool.springbootdeveloper.domain.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // 기본 existsById는 읽기 전용 트랜잭션(복제 DB)이라 방금 폐기한 토큰을 복제 지연 동안 놓칠 수 있으므로 주 DB에서 확인
+    @Override
+    @Transactional
+    boolean existsById(Long id);
+
+    // 폐기를 선점 : merge(save)처럼 조회 후 저장하지 않고 바로 INSERT -> 같은 토큰을 동시에 폐기하면 한 요청만 성공하고 나머지는 키 중복 예외
+    @Modifying
+    @Transactional
+    @Query(value = "insert into revoked_token (id, expires_at) values (:id, :expiresAt)", nativeQuery = true)
+    int insert(@Param("id") long id, @Param("expiresAt") long expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -2,11 +2,21 @@ package com.itschool.springbootdeveloper.repository;
 
 import com.itschool.springbootdeveloper.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Transactional(readOnly = true) // 복제 DB가 설정돼 있으면 복제 DB에서 조회
     Optional<User> findByEmail(String email); // email로 사용자 정보를 가져옴
+
+    // 비밀번호 해시만 변경 (엔티티를 조회하지 않고 UPDATE 한 번)
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
 }
@@ -0,0 +1,355 @@
+package com.itschool.springbootdeveloper.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 글 제목/본문 전문 검색용 메모리 역색인 (단어 -> 등장한 문서 목록)
+// 색인 내부에서는 글 id 대신 0부터 증가하는 문서 번호(doc)를 쓰고, 점수는 BM25로 계산
+// 검색은 동시에 여러 개 가능하고(read lock), 색인 변경은 하나씩(write lock)
+@Component
+public class ArticleSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3; // 제목에 나온 단어는 본문보다 3배 가중치
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_DEAD_DOCS_TO_COMPACT = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private PostingList[] postings = new PostingList[1024];
+    private int termCount;
+
+    private long[] docArticleIds = new long[1024]; // 문서 번호 -> 글 id
+    private int[] docLengths = new int[1024]; // 문서 번호 -> 토큰 수
+    private final BitSet liveDocs = new BitSet(); // 삭제되지 않은 문서 번호
+    private final Map<Long, Integer> docByArticleId = new HashMap<>();
+    private int docCount; // 지금까지 발급한 문서 번호 수 (삭제된 문서 포함)
+    private int liveCount;
+    private int deadCount;
+    private long totalLength; // 살아 있는 문서의 토큰 수 합 (평균 길이 계산용)
+
+    // 검색마다 큰 점수 배열을 새로 만들지 않도록 재사용 (동시에 실행 중인 검색 수만큼만 생김)
+    private final Queue<ScoreBoard> scoreBoards = new ConcurrentLinkedQueue<>();
+
+    // 글을 색인 (이미 있으면 교체)
+    public void index(long articleId, String title, String content) {
+        // 토큰화는 락 밖에서
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = count(SearchTokenizer.tokenize(title), TITLE_WEIGHT, frequencies)
+                + count(SearchTokenizer.tokenize(content), 1, frequencies);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+
+            int doc = docCount++;
+            ensureDocCapacity(docCount);
+            docArticleIds[doc] = articleId;
+            docLengths[doc] = length;
+            liveDocs.set(doc);
+            docByArticleId.put(articleId, doc);
+            liveCount++;
+            totalLength += length;
+
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                postingsFor(entry.getKey()).add(doc, entry.getValue()[0]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            postings = new PostingList[1024];
+            termCount = 0;
+            docArticleIds = new long[1024];
+            docLengths = new int[1024];
+            liveDocs.clear();
+            docByArticleId.clear();
+            docCount = liveCount = deadCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 관련도(BM25) 높은 순으로 최대 limit 개
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        ScoreBoard board = scoreBoards.poll();
+        if (board == null) {
+            board = new ScoreBoard();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return List.of();
+            }
+            board.reset(docCount);
+
+            float averageLength = (float) totalLength / liveCount;
+            for (String term : terms) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    continue;
+                }
+
+                PostingList list = postings[termId];
+                int df = list.size();
+                float idf = (float) Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+
+                for (int i = 0; i < df; i++) {
+                    int doc = list.doc(i);
+                    if (!liveDocs.get(doc)) {
+                        continue;
+                    }
+                    int tf = list.freq(i);
+                    float norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLengths[doc] / averageLength));
+                    board.add(doc, idf * norm);
+                }
+            }
+
+            return board.top(limit, docArticleIds);
+        } finally {
+            lock.readLock().unlock();
+            board.clear();
+            scoreBoards.offer(board);
+        }
+    }
+
+    private static int count(List<String> tokens, int weight, Map<String, int[]> frequencies) {
+        for (String token : tokens) {
+            frequencies.computeIfAbsent(token, key -> new int[1])[0] += weight;
+        }
+        return tokens.size() * weight;
+    }
+
+    private PostingList postingsFor(String term) {
+        Integer termId = termIds.get(term);
+        if (termId != null) {
+            return postings[termId];
+        }
+
+        if (termCount == postings.length) {
+            postings = Arrays.copyOf(postings, termCount * 2);
+        }
+        PostingList list = new PostingList();
+        postings[termCount] = list;
+        termIds.put(term, termCount++);
+        return list;
+    }
+
+    private void removeLocked(long articleId) {
+        Integer doc = docByArticleId.remove(articleId);
+        if (doc == null) {
+            return;
+        }
+
+        // 문서 목록에서 바로 빼지 않고 삭제 표시만 함 (검색 시 건너뜀)
+        liveDocs.clear(doc);
+        liveCount--;
+        deadCount++;
+        totalLength -= docLengths[doc];
+
+        if (deadCount >= MIN_DEAD_DOCS_TO_COMPACT && deadCount > liveCount) {
+            compactLocked();
+        }
+    }
+
+    // 삭제 표시된 문서가 많아지면 문서 번호를 다시 매기면서 목록에서 실제로 제거
+    // 문서가 하나도 남지 않은 단어도 단어 번호를 다시 매기면서 제거
+    private void compactLocked() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            remap[doc] = liveDocs.get(doc) ? next++ : -1;
+        }
+
+        for (int termId = 0; termId < termCount; termId++) {
+            postings[termId].compact(remap);
+        }
+        compactTermsLocked();
+
+        for (int doc = 0; doc < docCount; doc++) {
+            int newDoc = remap[doc];
+            if (newDoc >= 0) {
+                docArticleIds[newDoc] = docArticleIds[doc];
+                docLengths[newDoc] = docLengths[doc];
+                docByArticleId.put(docArticleIds[newDoc], newDoc);
+            }
+        }
+
+        liveDocs.clear();
+        liveDocs.set(0, next);
+        docCount = next;
+        deadCount = 0;
+    }
+
+    private void compactTermsLocked() {
+        int[] termRemap = new int[termCount];
+        int next = 0;
+        for (int termId = 0; termId < termCount; termId++) {
+            if (postings[termId].size() > 0) {
+                postings[next] = postings[termId];
+                termRemap[termId] = next++;
+            } else {
+                termRemap[termId] = -1;
+            }
+        }
+        if (next == termCount) {
+            return;
+        }
+
+        termIds.entrySet().removeIf(entry -> termRemap[entry.getValue()] < 0);
+        termIds.replaceAll((term, termId) -> termRemap[termId]);
+        Arrays.fill(postings, next, termCount, null);
+        if (postings.length > 1024 && postings.length > next * 4) { // 너무 많이 비었으면 배열도 줄임
+            postings = Arrays.copyOf(postings, Math.max(1024, next * 2));
+        }
+        termCount = next;
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return termCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity > docArticleIds.length) {
+            int newCapacity = Math.max(capacity, docArticleIds.length * 2);
+            docArticleIds = Arrays.copyOf(docArticleIds, newCapacity);
+            docLengths = Arrays.copyOf(docLengths, newCapacity);
+        }
+    }
+
+    // 문서별 점수 누적 (검색 한 번에 쓰이는 임시 공간)
+    private static final class ScoreBoard {
+
+        private float[] scores = new float[0];
+        private int[] touched = new int[64]; // 점수가 생긴 문서 번호
+        private int touchedCount;
+
+        void reset(int docCount) {
+            if (scores.length < docCount) {
+                scores = new float[docCount];
+            }
+        }
+
+        void add(int doc, float score) {
+            if (scores[doc] == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = doc;
+            }
+            scores[doc] += score;
+        }
+
+        // 점수 상위 limit 개 : 크기 limit의 최소 힙으로 고름
+        List<SearchHit> top(int limit, long[] docArticleIds) {
+            int heapSize = 0;
+            int[] heap = new int[Math.min(limit, touchedCount)];
+
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (heapSize < heap.length) {
+                    heap[heapSize] = doc;
+                    siftUp(heap, heapSize++);
+                } else if (heap.length > 0 && scores[doc] > scores[heap[0]]) {
+                    heap[0] = doc;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            SearchHit[] hits = new SearchHit[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) { // 힙에서 작은 값부터 꺼내서 뒤에서부터 채움
+                int doc = heap[0];
+                hits[i] = new SearchHit(docArticleIds[doc], scores[doc]);
+                heap[0] = heap[i];
+                siftDown(heap, i);
+            }
+            return Arrays.asList(hits);
+        }
+
+        void clear() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+
+        private void siftUp(int[] heap, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[heap[parent]] <= scores[heap[index]]) {
+                    return;
+                }
+                swap(heap, parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int index = 0;
+            while (true) {
+                int left = index * 2 + 1;
+                if (left >= size) {
+                    return;
+                }
+                int smallest = left + 1 < size && scores[heap[left + 1]] < scores[heap[left]] ? left + 1 : left;
+                if (scores[heap[index]] <= scores[heap[smallest]]) {
+                    return;
+                }
+                swap(heap, index, smallest);
+                index = smallest;
+            }
+        }
+
+        private static void swap(int[] heap, int i, int j) {
+            int tmp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = tmp;
+        }
+    }
+}
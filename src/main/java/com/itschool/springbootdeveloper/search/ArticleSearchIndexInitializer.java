@@ -0,0 +1,28 @@
+package com.itschool.springbootdeveloper.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// 애플리케이션이 뜨면 전체 글을 스트리밍으로 읽어서 검색 색인을 만듦
+// 읽는 동안의 변경과 이후 변경은 ArticleSearchIndexUpdater가 버전을 비교해서 반영
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ArticleSearchIndexInitializer {
+
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleSearchIndexUpdater articleSearchIndexUpdater;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.nanoTime();
+
+        articleSearchIndexUpdater.rebuild();
+
+        log.info("article search index built: {} documents in {} ms",
+                articleSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
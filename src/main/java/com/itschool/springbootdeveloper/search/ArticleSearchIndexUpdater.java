@@ -0,0 +1,231 @@
+package com.itschool.springbootdeveloper.search;
+
+import com.itschool.springbootdeveloper.domain.Article;
+import com.itschool.springbootdeveloper.event.ArticleCreated;
+import com.itschool.springbootdeveloper.event.ArticleDeleted;
+import com.itschool.springbootdeveloper.event.ArticleEvent;
+import com.itschool.springbootdeveloper.event.ArticleEventConsumer;
+import com.itschool.springbootdeveloper.event.ArticleUpdated;
+import com.itschool.springbootdeveloper.service.BlogService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+// 글 이벤트로 검색 색인을 갱신 (쓰기 요청 스레드가 아닌 파이프라인의 consumer 스레드에서 실행)
+// - 글마다 색인에 반영한 버전을 기억하고, 그보다 오래된 이벤트나 읽기 결과는 무시 (발행 순서가 커밋 순서와 다를 수 있음)
+//   삭제는 가장 큰 버전(tombstone)으로 기억해서, 늦게 도착한 추가/수정 이벤트가 삭제된 글을 되살리지 않게 함
+// - rebuild()는 전체 글을 읽어서 색인을 다시 맞춤 : 시작할 때(ArticleSearchIndexInitializer)와 이벤트가 버려졌을 때 실행
+//   읽는 동안 들어온 이벤트도 바로 반영하고, 버전 비교로 읽기가 더 새로운 이벤트를 덮어쓰지 않게 함
+// - 색인은 서버마다 메모리에 있고 이벤트는 같은 서버의 쓰기에서만 오므로, sync-interval마다 sync()로 DB에서
+//   그동안 추가/수정된 글과 전체 id를 읽어 다른 서버의 변경과 삭제를 가져옴 (0이면 끔 : 서버가 하나일 때)
+@Slf4j
+@Component
+public class ArticleSearchIndexUpdater implements ArticleEventConsumer {
+
+    // sync가 지난번 시작 시각보다 이만큼 앞에서부터 읽음 (서버 간 시계 차이, 커밋이 updated_at보다 늦는 긴 트랜잭션, 복제 지연)
+    static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleSource articles;
+    private final ScheduledExecutorService syncer; // sync-interval이 0이면 null
+
+    private final Object lock = new Object();
+    private final Map<Long, Long> versions = new HashMap<>(); // 글 id -> 색인에 반영한 버전 (삭제는 Long.MAX_VALUE)
+    private Set<Long> touched; // rebuild/sync 중에 이벤트로 바뀐 글, 그 밖에는 null
+
+    private final Object sweepLock = new Object(); // rebuild와 sync를 한 번에 하나씩
+    private LocalDateTime sweptAt; // 마지막으로 DB와 맞추기 시작한 시각, 처음 색인을 만들기 전에는 null
+
+    // BlogService -> ArticleEventPipeline -> consumer 순서로 만들어지므로 BlogService는 쓸 때 꺼냄
+    @Autowired
+    public ArticleSearchIndexUpdater(ArticleSearchIndex articleSearchIndex, ObjectProvider<BlogService> blogService,
+                                     @Value("${blog.search.sync-interval:1m}") Duration syncInterval) {
+        this.articleSearchIndex = articleSearchIndex;
+        this.articles = new BlogServiceSource(blogService);
+
+        if (syncInterval.isZero()) {
+            this.syncer = null;
+            return;
+        }
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = syncInterval.toMillis();
+        syncer.scheduleWithFixedDelay(this::syncQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    ArticleSearchIndexUpdater(ArticleSearchIndex articleSearchIndex, ArticleSource articles) {
+        this.articleSearchIndex = articleSearchIndex;
+        this.articles = articles;
+        this.syncer = null;
+    }
+
+    @Override
+    public String name() {
+        return "search-index";
+    }
+
+    @Override
+    public void accept(List<ArticleEvent> events) {
+        // 같은 묶음에서 여러 번 바뀐 글은 마지막 이벤트만 반영
+        Map<Long, ArticleEvent> latest = new LinkedHashMap<>();
+        for (ArticleEvent event : events) {
+            latest.merge(event.getArticleId(), event, (a, b) -> b.getVersion() >= a.getVersion() ? b : a);
+        }
+
+        synchronized (lock) {
+            for (ArticleEvent event : latest.values()) {
+                if (apply(event) && touched != null) {
+                    touched.add(event.getArticleId());
+                }
+            }
+        }
+    }
+
+    // 이벤트가 버려졌으면 어떤 글이 빠졌는지 알 수 없으므로 전체를 다시 맞춤
+    @Override
+    public void missedEvents() {
+        log.warn("article events were dropped, rebuilding search index");
+        rebuild();
+    }
+
+    // 전체 글을 읽어서 색인을 맞추고, 읽기에도 없고 그동안 이벤트로 바뀌지도 않은 글은 색인에서 지움
+    public void rebuild() {
+        synchronized (sweepLock) {
+            LocalDateTime start = LocalDateTime.now();
+            sweep(articles::all, null);
+            sweptAt = start;
+        }
+    }
+
+    // 지난번 이후에 추가/수정된 글만 읽어서 반영하고, 전체 id에 없는 글은 색인에서 지움 (처음 색인을 만들기 전에는 하지 않음)
+    public void sync() {
+        synchronized (sweepLock) {
+            if (sweptAt == null) {
+                return;
+            }
+            LocalDateTime start = LocalDateTime.now();
+            LocalDateTime since = sweptAt.minus(SYNC_OVERLAP);
+            sweep(consumer -> articles.updatedSince(since, consumer), articles::ids);
+            sweptAt = start;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+    }
+
+    // rows를 버전 비교로 반영한 뒤, 있는 글 id(ids, null이면 rows의 id)에 없는 글을 색인에서 지움
+    private void sweep(Consumer<Consumer<ArticleCreated>> rows, Consumer<LongConsumer> ids) {
+        synchronized (lock) {
+            touched = new HashSet<>();
+        }
+
+        Set<Long> seen = new HashSet<>();
+        try {
+            rows.accept(article -> {
+                synchronized (lock) {
+                    if (ids == null) {
+                        seen.add(article.getArticleId());
+                    }
+                    apply(article);
+                }
+            });
+            if (ids != null) {
+                ids.accept(seen::add);
+            }
+
+            synchronized (lock) {
+                versions.entrySet().removeIf(entry -> {
+                    long id = entry.getKey();
+                    if (entry.getValue() == Long.MAX_VALUE || seen.contains(id) || touched.contains(id)) {
+                        return false;
+                    }
+                    articleSearchIndex.remove(id);
+                    return true;
+                });
+            }
+        } finally { // 읽다가 실패하면 지우지 않고, 이후 이벤트는 계속 반영
+            synchronized (lock) {
+                touched = null;
+            }
+        }
+    }
+
+    // 반영했으면 true (이미 같거나 더 새로운 버전을 반영했으면 false)
+    private boolean apply(ArticleEvent event) {
+        Long known = versions.get(event.getArticleId());
+        if (known != null && known >= event.getVersion()) {
+            return false;
+        }
+        versions.put(event.getArticleId(), event.getVersion());
+
+        if (event instanceof ArticleCreated created) {
+            articleSearchIndex.index(created.getArticleId(), created.getTitle(), created.getContent());
+        } else if (event instanceof ArticleUpdated updated) {
+            articleSearchIndex.index(updated.getArticleId(), updated.getTitle(), updated.getContent());
+        } else if (event instanceof ArticleDeleted) {
+            articleSearchIndex.remove(event.getArticleId());
+        }
+        return true;
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("search index sync failed", e);
+        }
+    }
+
+    // BlogService의 스트리밍 조회로 읽음
+    private static final class BlogServiceSource implements ArticleSource {
+
+        private final ObjectProvider<BlogService> blogService;
+
+        private BlogServiceSource(ObjectProvider<BlogService> blogService) {
+            this.blogService = blogService;
+        }
+
+        @Override
+        public void all(Consumer<ArticleCreated> consumer) {
+            blogService.getObject().exportAll(article -> consumer.accept(toRow(article)));
+        }
+
+        @Override
+        public void updatedSince(LocalDateTime since, Consumer<ArticleCreated> consumer) {
+            blogService.getObject().exportUpdatedSince(since, article -> consumer.accept(toRow(article)));
+        }
+
+        @Override
+        public void ids(LongConsumer consumer) {
+            blogService.getObject().exportIds(consumer);
+        }
+
+        private static ArticleCreated toRow(Article article) {
+            return new ArticleCreated(article.getId(), article.getVersion(), article.getTitle(), article.getContent());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.itschool.springbootdeveloper.search;
+
+import com.itschool.springbootdeveloper.event.ArticleCreated;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+// 검색 색인을 DB와 맞출 때 읽는 글 : (id, 버전, 제목, 본문)을 이벤트와 같은 모양으로 넘김
+// 운영에서는 BlogService의 스트리밍 조회, 테스트에서는 메모리 목록
+interface ArticleSource {
+
+    // 전체 글
+    void all(Consumer<ArticleCreated> consumer);
+
+    // 이 시각 이후에 추가/수정된 글
+    void updatedSince(LocalDateTime since, Consumer<ArticleCreated> consumer);
+
+    // 전체 글 id
+    void ids(LongConsumer consumer);
+}
@@ -0,0 +1,54 @@
+package com.itschool.springbootdeveloper.search;
+
+import java.util.Arrays;
+
+// 한 단어(term)가 등장하는 문서 번호와 등장 횟수 목록
+// Integer 박싱 없이 int 배열 두 개로 보관하고, 문서 번호는 항상 증가하는 순서로 추가됨
+final class PostingList {
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            freqs = Arrays.copyOf(freqs, capacity);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int freq(int index) {
+        return freqs[index];
+    }
+
+    // 삭제된 문서를 빼고 문서 번호를 새 번호(remap)로 바꿈, remap 값이 -1이면 삭제된 문서
+    void compact(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int newDoc = remap[docs[i]];
+            if (newDoc >= 0) {
+                docs[kept] = newDoc;
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+        }
+        size = kept;
+
+        if (docs.length > kept * 2 + 4) { // 너무 많이 비었으면 배열도 줄임
+            docs = Arrays.copyOf(docs, kept);
+            freqs = Arrays.copyOf(freqs, kept);
+        }
+    }
+}
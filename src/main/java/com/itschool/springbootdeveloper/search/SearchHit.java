@@ -0,0 +1,12 @@
+package com.itschool.springbootdeveloper.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 검색 결과 한 건 (글 id와 관련도 점수)
+@AllArgsConstructor
+@Getter
+public class SearchHit {
+    private final long articleId;
+    private final float score;
+}
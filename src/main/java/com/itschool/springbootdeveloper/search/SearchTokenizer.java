@@ -0,0 +1,64 @@
+package com.itschool.springbootdeveloper.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 검색어/본문을 색인 단위(토큰)로 나눔
+// - 영문, 숫자 : 공백/기호 기준 단어를 소문자로 (2글자 이상)
+// - 한글 : 형태소 분석기 없이 연속된 음절을 2글자씩(bigram) 잘라서 조사가 붙어도 검색되게 함 ("스프링부트" -> 스프, 프링, 링부, 부트)
+public final class SearchTokenizer {
+
+    private static final int MIN_WORD_LENGTH = 2;
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+
+            if (isHangul(c)) {
+                int start = i;
+                while (i < length && isHangul(text.charAt(i))) {
+                    i++;
+                }
+                addBigrams(text, start, i, tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i)) && !isHangul(text.charAt(i))) {
+                    i++;
+                }
+                if (i - start >= MIN_WORD_LENGTH) {
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    // 한 글자짜리 한글 단어는 그대로, 두 글자 이상이면 bigram
+    private static void addBigrams(String text, int start, int end, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int j = start; j + 2 <= end; j++) {
+            tokens.add(text.substring(j, j + 2));
+        }
+    }
+
+    // 한글 음절(가~힣)
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
@@ -0,0 +1,85 @@
+package com.itschool.springbootdeveloper.service;
+
+import com.itschool.springbootdeveloper.domain.Article;
+import com.itschool.springbootdeveloper.domain.ArticleContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+// 본문을 article_content로 분리하기 전에 저장된 글(article.content 컬럼에 본문이 있는 행)을 옮김
+// db/mysql/article_content.sql 로 컬럼을 추가한 뒤 새 버전이 뜰 때 실행되고, 옮길 행이 없으면 아무것도 하지 않음
+// 검색 색인 생성(ApplicationReadyEvent)보다 먼저 끝나도록 ApplicationRunner로 실행
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ArticleContentMigration implements ApplicationRunner {
+
+    private static final String SELECT_SQL =
+            "select id, content from article where content is not null order by id limit ?";
+    private static final String INSERT_SQL =
+            "insert into article_content (id, compressed, original_length, body) values (?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "update article set preview = ?, content = null where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!hasLegacyContentColumn()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int total = 0;
+        int migrated;
+        do { // BATCH_SIZE 행씩 트랜잭션을 나눠서 옮김 (중간에 멈춰도 다음 실행에서 이어서 옮김)
+            migrated = transactionTemplate.execute(status -> migrateBatch());
+            total += migrated;
+        } while (migrated == BlogService.BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("moved {} article bodies to article_content in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private int migrateBatch() {
+        List<Object[]> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new Object[]{rs.getLong("id"), rs.getString("content")}, BlogService.BATCH_SIZE);
+
+        List<Object[]> inserts = new ArrayList<>(rows.size());
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String text = (String) row[1];
+            ArticleContent content = new ArticleContent(text); // 압축은 새로 저장하는 글과 같은 규칙
+            inserts.add(new Object[]{row[0], content.isCompressed(), content.getOriginalLength(), content.getBody()}); // 본문 id는 글 id
+            updates.add(new Object[]{Article.preview(text), row[0]});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        return rows.size();
+    }
+
+    // 새로 만든 DB에는 content 컬럼이 없음 (하이버네이트가 새 매핑으로 테이블을 만듦)
+    private boolean hasLegacyContentColumn() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upperCase = metaData.storesUpperCaseIdentifiers();
+
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                    upperCase ? "ARTICLE" : "article", upperCase ? "CONTENT" : "content")) {
+                return columns.next();
+            }
+        }));
+    }
+}
@@ -0,0 +1,12 @@
+package com.itschool.springbootdeveloper.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// 요청한 id의 글이 없을 때 던짐 -> 404 (API는 ApiExceptionHandler, 화면은 상태 코드 그대로 에러 페이지)
+public class ArticleNotFoundException extends ResponseStatusException {
+
+    public ArticleNotFoundException(long id) {
+        super(HttpStatus.NOT_FOUND, "not found: " + id);
+    }
+}
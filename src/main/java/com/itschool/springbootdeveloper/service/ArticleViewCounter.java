@@ -0,0 +1,215 @@
+package com.itschool.springbootdeveloper.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.itschool.springbootdeveloper.dto.ArticleSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 글 조회수 : 조회할 때마다 UPDATE 하면 인기 글 한 행에 잠금이 몰리므로 메모리에 모았다가 주기적으로 한 번에 반영 (write-behind)
+// 글마다 LongAdder(스레드별로 나뉜 셀)에 더하므로 같은 글을 동시에 조회해도 경합이 없음
+// 반영 전 조회수는 이 서버 메모리에만 있으므로 화면/응답에는 DB 값 + 반영 대기 값을 보여주고, 종료할 때 남은 값을 반영함
+// 캐시된 스냅샷은 반영할 때마다 버리지 않고 반영한 값을 더해 둠 (자주 읽히는 글일수록 캐시에 남아 있어야 하므로)
+// 다른 서버가 반영한 조회수는 스냅샷이 캐시에서 만료될 때(blog.cache.article.expire-after-write) 보임
+@Slf4j
+@Component
+public class ArticleViewCounter {
+
+    private static final String UPDATE_SQL = "update article set views = views + ? where id = ?";
+
+    private final ConcurrentHashMap<Long, Entry> counters = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, ArticleSnapshot> articleCache; // 반영한 조회수를 캐시된 스냅샷에도 더함
+    private final AtomicLong flushes = new AtomicLong(); // 조회수 반영 차수 (UPDATE를 실행하기 전에 올림)
+    private final ScheduledExecutorService flusher;
+    private final Counter flushedViews = Metrics.counter("blog.views.flushed");
+
+    public ArticleViewCounter(JdbcTemplate jdbcTemplate, Cache<Long, ArticleSnapshot> articleCache,
+                              @Value("${blog.views.flush-interval:5s}") Duration flushInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.articleCache = articleCache;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-view-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 조회 경로 : 잠금 없이 LongAdder에 더하기만 함
+    public void increment(long articleId) {
+        Entry entry = entry(articleId);
+        entry.pending.increment();
+
+        if (entry.retired) { // flush가 정리한 항목에 더했으면 새 항목으로 옮김
+            long moved = entry.pending.sumThenReset();
+            if (moved > 0) {
+                entry(articleId).pending.add(moved);
+            }
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 조회수 (반영 중인 값 포함)
+    public long pending(long articleId) {
+        Entry entry = counters.get(articleId);
+        return entry == null ? 0 : entry.pending.sum() + entry.flushing.get();
+    }
+
+    // 글을 DB에서 읽은 직후에 기록해 두는 값 (ArticleSnapshot.flushMark)
+    // 스냅샷의 값이 반영 차수보다 작으면 그 반영이 시작되기 전에 읽은 것이므로 반영한 조회수가 들어 있지 않음
+    public long flushMark() {
+        return flushes.get();
+    }
+
+    // 모인 조회수를 JDBC 배치 UPDATE 한 번으로 반영하고 반영한 행 수를 반환
+    // 실패하면 다시 대기 값으로 돌려서 다음 주기에 반영
+    public synchronized int flush() {
+        List<Flush> batch = new ArrayList<>();
+
+        for (Map.Entry<Long, Entry> counter : counters.entrySet()) {
+            Entry entry = counter.getValue();
+            long delta = entry.pending.sumThenReset();
+
+            if (delta == 0) {
+                retire(counter.getKey(), entry); // 한 주기 동안 조회가 없던 글은 메모리에서 정리
+                continue;
+            }
+
+            entry.flushing.addAndGet(delta);
+            batch.add(new Flush(counter.getKey(), entry, delta));
+        }
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // 여러 서버가 동시에 반영해도 같은 순서로 행을 잠가서 교착 상태를 피함
+        batch.sort(Comparator.comparingLong(flush -> flush.articleId));
+
+        long flushNumber = flushes.incrementAndGet();
+        try {
+            jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> update(connection, batch));
+        } catch (DataAccessException e) {
+            log.warn("failed to flush {} article view counters, retrying on the next flush: {}", batch.size(), e.getMessage());
+            for (Flush flush : batch) {
+                flush.entry.pending.add(flush.delta);
+                flush.entry.flushing.addAndGet(-flush.delta);
+            }
+            return 0;
+        }
+
+        // 캐시된 스냅샷에 반영한 값을 더하고 반영 중 값에서 뺌 : 같은 키 잠금 안에서 해서 두 값이 함께 보이거나 함께 빠지지 않게 함
+        // (같은 글을 읽어 오는 중이면 그 조회가 끝난 뒤에 실행됨, BlogService.findById)
+        // 이번 반영이 시작된 뒤에 읽은 스냅샷은 반영한 값이 이미 들어 있을 수 있으므로 더하지 않고 제거 (반영 중에 캐시를 채운 글만 해당)
+        for (Flush flush : batch) {
+            articleCache.asMap().compute(flush.articleId, (id, snapshot) -> {
+                flush.entry.flushing.addAndGet(-flush.delta);
+                if (snapshot == null || snapshot.getFlushMark() >= flushNumber) {
+                    return null;
+                }
+                return snapshot.withViews(snapshot.getViews() + flush.delta);
+            });
+            flushedViews.increment(flush.delta);
+        }
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(); // 종료 전에 남은 조회수 반영
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("article view flush failed", e);
+        }
+    }
+
+    // 스프링 트랜잭션 대신 커넥션에서 직접 커밋 : 조회수는 사용자가 쓴 데이터가 아니므로
+    // 읽기를 주 DB로 붙잡아 두는 read-your-writes 기록(ReadYourWritesTracker)을 남기지 않음
+    private static int[] update(Connection connection, List<Flush> batch) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+            for (Flush flush : batch) {
+                statement.setLong(1, flush.delta);
+                statement.setLong(2, flush.articleId);
+                statement.addBatch();
+            }
+            int[] updated = statement.executeBatch();
+            connection.commit();
+            return updated;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private Entry entry(long articleId) {
+        Entry entry = counters.get(articleId); // 이미 있으면 잠금 없이 조회
+        return entry != null ? entry : counters.computeIfAbsent(articleId, id -> new Entry());
+    }
+
+    // 정리 표시를 먼저 하고 제거한 뒤 남은 값을 옮김 (동시에 increment 한 값은 둘 중 한 쪽이 옮김)
+    private void retire(long articleId, Entry entry) {
+        if (entry.flushing.get() != 0) {
+            return;
+        }
+
+        entry.retired = true;
+        counters.remove(articleId, entry);
+
+        long late = entry.pending.sumThenReset();
+        if (late > 0) {
+            entry(articleId).pending.add(late);
+        }
+    }
+
+    private static final class Entry {
+        private final LongAdder pending = new LongAdder(); // 아직 반영하지 않은 조회수
+        private final AtomicLong flushing = new AtomicLong(); // 반영 중인 조회수 (커밋 후 캐시에서 스냅샷을 뺄 때까지 보여주기 위함)
+        private volatile boolean retired;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Flush {
+        private final long articleId;
+        private final Entry entry;
+        private final long delta;
+    }
+}
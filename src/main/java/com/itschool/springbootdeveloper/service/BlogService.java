@@ -1,48 +1,321 @@
 package com.itschool.springbootdeveloper.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.itschool.springbootdeveloper.config.datasource.ReadYourWritesTracker;
 import com.itschool.springbootdeveloper.domain.Article;
 import com.itschool.springbootdeveloper.dto.AddArticleRequest;
+import com.itschool.springbootdeveloper.dto.ArticleField;
+import com.itschool.springbootdeveloper.dto.ArticleFieldSet;
+import com.itschool.springbootdeveloper.dto.ArticleMetadata;
+import com.itschool.springbootdeveloper.dto.ArticleSnapshot;
+import com.itschool.springbootdeveloper.dto.ArticleSummary;
+import com.itschool.springbootdeveloper.dto.ArticleVersion;
+import com.itschool.springbootdeveloper.dto.CursorPage;
+import com.itschool.springbootdeveloper.dto.SparseArticle;
 import com.itschool.springbootdeveloper.dto.UpdateArticleRequest;
+import com.itschool.springbootdeveloper.event.ArticleCreated;
+import com.itschool.springbootdeveloper.event.ArticleDeleted;
+import com.itschool.springbootdeveloper.event.ArticleEvent;
+import com.itschool.springbootdeveloper.event.ArticleEventPipeline;
+import com.itschool.springbootdeveloper.event.ArticleUpdated;
 import com.itschool.springbootdeveloper.repository.BlogRepository;
+import com.itschool.springbootdeveloper.search.ArticleSearchIndex;
+import com.itschool.springbootdeveloper.search.SearchHit;
+import com.itschool.springbootdeveloper.view.ArticleFragments;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor // final이 붙거나 @NotNull이 붙은 필드의 생성자 추가
 @Service // 빈으로 등록
+@Timed("blog.service") // 모든 public 메서드의 실행 시간 기록 (method 태그로 구분)
 public class BlogService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int BATCH_SIZE = 50; // application.yml의 hibernate.jdbc.batch_size와 맞춤
+
     private final BlogRepository blogRepository;
+    private final EntityManager entityManager;
+    private final Cache<Long, ArticleSnapshot> articleCache; // CacheConfig에서 등록한 글 단건 조회 캐시
+    private final ArticleSearchIndex articleSearchIndex; // 전문 검색용 메모리 역색인
+    private final ArticleEventPipeline articleEvents; // 커밋 후 글 이벤트 발행 (색인, 화면 조각 캐시 등은 consumer가 따로 처리)
+    private final ReadYourWritesTracker readYourWrites; // 변경 직후 캐시를 채울 때는 복제 DB 대신 주 DB에서 읽음
+    private final ArticleFragments articleFragments; // 목록 페이지 HTML 캐시
+    private final ArticleViewCounter articleViewCounter; // 캐시를 채울 때 조회수 반영 차수를 함께 기록
 
     // 블로그 글 추가 메서드
     public Article create(AddArticleRequest request) {
         // save() 메서드는 JpaRepository 의 부모인 CrudRepository 에 선언이 돼있음
-        return blogRepository.save(request.toEntity());
+        Article article = blogRepository.save(request.toEntity());
+        evict(article.getId());
+        publishAfterCommit(new ArticleCreated(article.getId(), article.getVersion(), request.getTitle(), request.getContent()));
+
+        return article;
     }
 
-    // 블로그 글 전체 조회
-    public List<Article> findAll() {
-        return blogRepository.findAll();
+    // 블로그 글 여러 개를 한 트랜잭션에서 추가
+    // BATCH_SIZE 단위로 flush 해서 INSERT를 JDBC 배치로 보내고, clear로 영속성 컨텍스트가 커지지 않게 함
+    @Transactional
+    public List<Long> createAll(List<AddArticleRequest> requests) {
+        List<Long> ids = new ArrayList<>(requests.size());
+        List<Long> versions = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            Article article = requests.get(i).toEntity();
+            entityManager.persist(article); // 시퀀스에서 미리 할당받은 id와 초기 버전이 바로 채워짐
+            ids.add(article.getId());
+            versions.add(article.getVersion());
+
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        articleFragments.evictPages(ids);
+        afterCommit(() -> {
+            articleFragments.evictPages(ids);
+            for (int i = 0; i < ids.size(); i++) {
+                articleEvents.publish(new ArticleCreated(ids.get(i), versions.get(i),
+                        requests.get(i).getTitle(), requests.get(i).getContent()));
+            }
+        });
+
+        return ids;
     }
 
-    public Article findById(long id) {
-        return blogRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("not found: " + id));
+    // 블로그 글 목록 페이지 조회 (afterId 이후의 글 요약을 limit 개까지)
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleSummary> findPage(Long afterId, int limit) {
+        int size = pageSize(limit);
+
+        // 다음 페이지 존재 여부를 알기 위해 한 개 더 조회
+        List<ArticleSummary> rows = blogRepository.findSummariesByIdGreaterThan(after(afterId), PageRequest.ofSize(size + 1));
+
+        return CursorPage.of(rows, size, ArticleSummary::getId);
     }
 
-    public void delete(long id) {
-        blogRepository.deleteById(id);
+    // findPage와 같은 범위의 메타데이터(id, 수정 시간)만 조회
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleVersion> findPageVersions(Long afterId, int limit) {
+        int size = pageSize(limit);
+
+        List<ArticleVersion> rows = blogRepository.findVersionsByIdGreaterThan(after(afterId), PageRequest.ofSize(size + 1));
+
+        return CursorPage.of(rows, size, ArticleVersion::getId);
     }
 
-    @Transactional // 트랜잭션 메서드여야 더티 체킹 활성화, 기본값 (rollbackFor = RuntimeException.class)
-    public Article update(Long id, UpdateArticleRequest request) {
-        Article article = blogRepository.findById(id)
-                .orElseThrow(()-> new IllegalArgumentException("not found" + id));
+    // findPage와 같은 범위에서 ?fields= 로 고른 컬럼만 조회
+    @Transactional(readOnly = true)
+    public CursorPage<SparseArticle> findPageFields(Long afterId, int limit, ArticleFieldSet fields) {
+        int size = pageSize(limit);
 
-        article.update(request.getTitle(), request.getContent());
+        List<SparseArticle> rows = blogRepository.findFieldsByIdGreaterThan(fields, after(afterId), size + 1);
 
-        return article;
+        return CursorPage.of(rows, size, SparseArticle::getId);
+    }
+
+    // 제목/본문 전문 검색 : 색인에서 관련도 순으로 id를 찾고, 목록용 요약만 한 번에 조회
+    @Transactional(readOnly = true)
+    public List<ArticleSummary> search(String query, int limit) {
+        List<SearchHit> hits = articleSearchIndex.search(query, pageSize(limit));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ArticleSummary> summaries = blogRepository.findSummariesByIdIn(
+                        hits.stream().map(SearchHit::getArticleId).toList())
+                .stream()
+                .collect(Collectors.toMap(ArticleSummary::getId, Function.identity()));
+
+        return hits.stream() // 관련도 순서 유지
+                .map(hit -> summaries.get(hit.getArticleId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 블로그 글 전체 내보내기 : 한 건씩 consumer에 넘기고 바로 영속성 컨텍스트에서 분리해서 힙 사용량을 일정하게 유지
+    @Transactional(readOnly = true) // 스트림은 트랜잭션(커넥션)이 열려 있는 동안만 읽을 수 있음
+    public void exportAll(Consumer<Article> consumer) {
+        try (Stream<Article> articles = blogRepository.streamAllByOrderByIdAsc()) {
+            articles.forEach(article -> {
+                consumer.accept(article);
+                entityManager.detach(article);
+            });
+        }
+    }
+
+    // 이 시각 이후에 추가/수정된 글만 exportAll과 같은 방식으로 넘김
+    @Transactional(readOnly = true)
+    public void exportUpdatedSince(LocalDateTime since, Consumer<Article> consumer) {
+        try (Stream<Article> articles = blogRepository.streamByUpdatedAtGreaterThanEqualOrderByIdAsc(since)) {
+            articles.forEach(article -> {
+                consumer.accept(article);
+                entityManager.detach(article);
+            });
+        }
+    }
+
+    // 전체 글 id
+    @Transactional(readOnly = true)
+    public void exportIds(LongConsumer consumer) {
+        try (Stream<Long> ids = blogRepository.streamAllIds()) {
+            ids.forEach(consumer::accept);
+        }
+    }
+
+    // 캐시에 있으면 DB를 거치지 않고 반환
+    // 같은 id를 동시에 조회해도 캐시가 DB 조회를 한 번만 수행하고 나머지는 그 결과를 기다림 (single-flight)
+    // 캐시 적중 때 트랜잭션을 열지 않도록 메서드 대신 리포지토리의 읽기 전용 트랜잭션을 사용
+    public ArticleSnapshot findById(long id) {
+        return articleCache.get(id, key -> readYourWrites.readFresh(() -> {
+            Article article = blogRepository.findWithContentById(key)
+                    .orElseThrow(() -> new ArticleNotFoundException(key));
+            return ArticleSnapshot.from(article, articleViewCounter.flushMark()); // 읽은 뒤의 반영 차수
+        }));
+    }
+
+    // 글 메타데이터 조회 : 캐시에 있으면 캐시의 스냅샷을, 없으면 본문 없이 id와 수정 시간만 조회
+    public ArticleMetadata findMetadata(long id) {
+        ArticleSnapshot cached = articleCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        return blogRepository.findVersionById(id)
+                .orElseThrow(() -> new ArticleNotFoundException(id));
+    }
+
+    // ?fields= 로 고른 필드만 조회
+    // 본문을 요청하면 findById(캐시)를 그대로 쓰고, 아니면 캐시에 있을 때만 캐시 값을, 없으면 본문 테이블 없이 고른 컬럼만 조회
+    // (본문 없는 조회 결과로는 캐시를 채우지 않음)
+    public SparseArticle findFieldsById(long id, ArticleFieldSet fields) {
+        if (fields.contains(ArticleField.CONTENT)) {
+            return SparseArticle.from(fields, findById(id));
+        }
+
+        ArticleSnapshot cached = articleCache.getIfPresent(id);
+        if (cached != null) {
+            return SparseArticle.from(fields, cached);
+        }
+
+        return blogRepository.findFieldsById(fields, id)
+                .orElseThrow(() -> new ArticleNotFoundException(id));
+    }
+
+    // 글 캐시 통계 (적중, 실패, 제거 횟수)
+    public CacheStats articleCacheStats() {
+        return articleCache.stats();
+    }
+
+    // expectedVersions가 있으면 그중 한 버전일 때만 삭제 (If-Match)
+    // 본문 행은 외래 키의 ON DELETE CASCADE로 DB가 함께 지우므로 DELETE 한 번
+    @Transactional
+    public void delete(long id, Collection<Long> expectedVersions) {
+        int deleted = expectedVersions == null
+                ? blogRepository.deleteDirectly(id)
+                : blogRepository.deleteIfVersionMatches(id, expectedVersions);
+
+        if (deleted == 0) {
+            throw notFoundOrConflict(id, expectedVersions);
+        }
+
+        evict(id);
+        publishAfterCommit(new ArticleDeleted(id));
+    }
+
+    // 엔티티를 조회해서 더티 체킹하는 대신 UPDATE 문으로 수정 (글 행 한 번, 본문 행 한 번)
+    // expectedVersions가 있으면 그중 한 버전일 때만 수정하고, 수정 후 버전은 하나뿐이면 그 다음 버전,
+    // 없거나 여러 개면(어느 버전이었는지 모름) 같은 트랜잭션에서 읽음
+    // (이벤트 consumer가 커밋 순서와 다르게 도착한 이벤트를 버전으로 걸러낼 수 있게 항상 커밋될 버전을 담아 발행)
+    @Transactional // 기본값 (rollbackFor = RuntimeException.class)
+    public ArticleVersion update(Long id, UpdateArticleRequest request, Collection<Long> expectedVersions) {
+        LocalDateTime now = LocalDateTime.now();
+        String preview = Article.preview(request.getContent());
+
+        int updated = expectedVersions == null
+                ? blogRepository.updateDirectly(id, request.getTitle(), preview, now)
+                : blogRepository.updateIfVersionMatches(id, expectedVersions, request.getTitle(), preview, now);
+
+        if (updated == 0) {
+            throw notFoundOrConflict(id, expectedVersions);
+        }
+        blogRepository.updateContent(id, request.getContent()); // 글 UPDATE가 성공했을 때만 본문을 압축해서 UPDATE
+        long version = expectedVersions == null || expectedVersions.size() > 1
+                ? blogRepository.findCurrentVersion(id) // 행 잠금을 잡고 있으므로 커밋될 버전과 같음
+                : expectedVersions.iterator().next() + 1;
+
+        evict(id);
+        publishAfterCommit(new ArticleUpdated(id, version, request.getTitle(), request.getContent()));
+
+        return new ArticleVersion(id, version, now);
+    }
+
+    // 바뀐 행이 없을 때만 한 번 더 조회해서 원인을 구분 (정상 경로에서는 추가 쿼리 없음)
+    private RuntimeException notFoundOrConflict(long id, Collection<Long> expectedVersions) {
+        if (expectedVersions == null || !blogRepository.existsById(id)) {
+            return new ArticleNotFoundException(id);
+        }
+        return new OptimisticLockingFailureException("version mismatch: " + id);
+    }
+
+    private static int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    private static long after(Long afterId) {
+        return afterId == null ? 0L : afterId;
+    }
+
+    // 캐시에서 글을 제거
+    // 트랜잭션 중이면 커밋 직후에 한 번 더 제거해서, 커밋 전에 다른 요청이 옛 값을 다시 캐싱하는 경우를 막음
+    // 글 캐시와 그 글이 보이는 목록 페이지는 다음 조회가 바로 새 값을 봐야 하므로 이벤트를 기다리지 않고 여기서 비움
+    private void evict(Long id) {
+        articleCache.invalidate(id);
+        articleFragments.evictPages(List.of(id));
+        afterCommit(() -> {
+            articleCache.invalidate(id);
+            articleFragments.evictPages(List.of(id));
+        });
+    }
+
+    // 커밋된 뒤에만 발행 (롤백되면 발행하지 않음), 파생 데이터 갱신은 consumer 스레드에서 실행되므로 여기서는 버퍼에 넣기만 함
+    private void publishAfterCommit(ArticleEvent event) {
+        afterCommit(() -> articleEvents.publish(event));
+    }
+
+    // 트랜잭션 중이면 커밋된 뒤에 실행 (롤백되면 실행하지 않음), 트랜잭션 밖이면 바로 실행
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
     }
 }
@@ -1,23 +1,68 @@
 package com.itschool.springbootdeveloper.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.itschool.springbootdeveloper.domain.User;
 import com.itschool.springbootdeveloper.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Service
 // 스프링 시큐리티에서 사용자 정보를 가져오는 인터페이스
-public class UserDetailService implements UserDetailsService {
+public class UserDetailService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final Cache<String, UserDetails> userDetailsCache; // CacheConfig에서 등록한 사용자 정보 캐시
 
     // 사용자 이름(email)으로 사용자 정보를 가져오는 메서드
+    // 캐시에 있으면 DB를 조회하지 않음
+    // 캐시 적중 때 트랜잭션을 열지 않도록 메서드 대신 리포지토리의 읽기 전용 트랜잭션(복제 DB)을 사용
     @Override
-    public User loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException(email));
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.get(email, key -> snapshot(userRepository.findByEmail(key)
+                .orElseThrow(() -> new UsernameNotFoundException(key))));
+
+        // 인증이 끝나면 시큐리티가 반환된 객체의 비밀번호를 지우므로(eraseCredentials) 캐시 객체 대신 복사본을 반환
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    // 로그인 성공 시 저장된 해시의 cost가 현재 설정보다 낮으면 시큐리티가 새로 해싱한 값으로 호출함
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        evict(user.getUsername());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
+    // 사용자 저장, 비밀번호 변경 시 호출해서 캐시에서 제거
+    public void evict(String email) {
+        userDetailsCache.invalidate(email);
+    }
+
+    // 사용자 정보 캐시 통계 (적중, 실패, 제거 횟수)
+    public CacheStats userDetailsCacheStats() {
+        return userDetailsCache.stats();
+    }
+
+    // JPA 엔티티 대신 인증에 필요한 값만 복사한 불변 객체를 캐시에 보관
+    private static UserDetails snapshot(User user) {
+        return org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
+                .password(user.getPassword())
+                .authorities(user.getAuthorities())
+                .accountExpired(!user.isAccountNonExpired())
+                .accountLocked(!user.isAccountNonLocked())
+                .credentialsExpired(!user.isCredentialsNonExpired())
+                .disabled(!user.isEnabled())
+                .build();
     }
 }
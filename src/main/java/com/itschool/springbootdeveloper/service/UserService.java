@@ -4,7 +4,7 @@ import com.itschool.springbootdeveloper.domain.User;
 import com.itschool.springbootdeveloper.dto.AddUserRequest;
 import com.itschool.springbootdeveloper.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
@@ -12,13 +12,18 @@ import org.springframework.stereotype.Service;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordEncoder passwordEncoder; // 전용 스레드 풀에서 해싱하는 BCrypt 인코더
+    private final UserDetailService userDetailService;
 
     public Long save(AddUserRequest dto) {
-        return userRepository.save(User.builder()
+        Long id = userRepository.save(User.builder()
                 .email(dto.getEmail())
                 // 패스워드 암호화
-                .password(bCryptPasswordEncoder.encode(dto.getPassword()))
+                .password(passwordEncoder.encode(dto.getPassword()))
                 .build()).getId();
+
+        userDetailService.evict(dto.getEmail()); // 캐시된 사용자 정보가 있으면 제거
+
+        return id;
     }
 }
@@ -0,0 +1,422 @@
+package com.itschool.springbootdeveloper.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itschool.springbootdeveloper.dto.ArticleChangeResponse;
+import com.itschool.springbootdeveloper.event.ArticleCreated;
+import com.itschool.springbootdeveloper.event.ArticleDeleted;
+import com.itschool.springbootdeveloper.event.ArticleEvent;
+import com.itschool.springbootdeveloper.event.ArticleEventConsumer;
+import com.itschool.springbootdeveloper.event.ArticleUpdated;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 글 변경 알림 SSE 스트림 (GET /api/articles/stream) : 글 이벤트 파이프라인의 consumer
+// - 구독자는 SseEmitter(서블릿 비동기)로 연결만 열어 두므로 연결마다 스레드를 잡지 않음
+// - 이벤트는 JSON으로 한 번만 만들어서 구독자마다 크기가 정해진 큐에 넣고, 소수의 전송 스레드가 큐를 비움
+// - 큐가 가득 찬 느린 구독자는 연결을 끊음 : EventSource가 Last-Event-ID로 다시 연결하면 최근 이벤트(replay window)부터 이어서 보냄
+// - 전송(emitter.send)은 블로킹 쓰기라 받지 않는 클라이언트에서 멈출 수 있음 : send-timeout을 넘기면 감시 작업이 그 구독자를 끊고
+//   멈춘 전송이 끝날 때까지 전송 스레드를 하나 더 붙여서, 멈춘 연결이 다른 구독자의 전송 스레드를 차지하지 않게 함
+//   더 붙인 스레드는 max-extra-senders개까지만 : 그 뒤로는 스레드를 늘리지 않고 끊기만 함 (멈춘 연결이 많아도 스레드가 한없이 늘지 않음)
+// - 이어서 보낼 수 없으면(너무 오래됐거나 서버가 재시작됨) reset 이벤트를 보내서 목록을 다시 불러오게 함
+@Slf4j
+@Component
+public class ArticleStream implements ArticleEventConsumer {
+
+    public static final String RESET = "reset";
+
+    private static final long IDLE = 0;
+    private static final long STUCK = Long.MIN_VALUE; // 멈춰서 끊었고 전송 스레드를 하나 더 붙임
+    private static final long STUCK_WITHOUT_SENDER = Long.MIN_VALUE + 1; // 멈춰서 끊었지만 더 붙일 수 있는 스레드가 없었음
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36); // 이벤트 id 앞부분 : 재시작하면 바뀜
+    private final Message[] replay; // 최근 이벤트 (sequence % 크기 칸에 저장)
+    private long lastSequence; // 마지막 이벤트 번호 (this로 동기화)
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+    private final int clientBufferSize;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor senders;
+    private final int maxExtraSenders;
+    private int extraSenders; // 멈춘 전송 때문에 더 붙인 전송 스레드 수 (this로 동기화)
+    private final ScheduledExecutorService heartbeats;
+    private final Counter droppedSubscribers = Metrics.counter("blog.stream.dropped");
+    private final Counter resets = Metrics.counter("blog.stream.resets");
+    private final Counter sendTimeouts = Metrics.counter("blog.stream.send-timeouts");
+
+    public ArticleStream(ObjectMapper objectMapper,
+                         @Value("${blog.stream.replay-size:256}") int replaySize,
+                         @Value("${blog.stream.client-buffer-size:64}") int clientBufferSize,
+                         @Value("${blog.stream.timeout:30m}") Duration timeout,
+                         @Value("${blog.stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+                         @Value("${blog.stream.sender-threads:2}") int senderThreads,
+                         @Value("${blog.stream.send-timeout:10s}") Duration sendTimeout,
+                         @Value("${blog.stream.max-extra-senders:8}") int maxExtraSenders) {
+        this.objectMapper = objectMapper;
+        this.replay = new Message[replaySize];
+        this.clientBufferSize = clientBufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxExtraSenders = maxExtraSenders;
+
+        AtomicInteger senderNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "article-stream-sender-" + senderNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 프록시/로드밸런서가 유휴 연결을 끊지 않도록, 끊긴 연결은 쓰기 실패로 정리되도록 주석 한 줄을 주기적으로 보냄
+        long intervalMillis = heartbeatInterval.toMillis();
+        heartbeats.scheduleWithFixedDelay(() -> broadcast(Message.HEARTBEAT), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        long checkMillis = Math.max(10, sendTimeout.toMillis() / 2);
+        heartbeats.scheduleWithFixedDelay(this::dropStuckSubscribers, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+
+        Metrics.gauge("blog.stream.subscribers", subscribers, Set::size);
+        Metrics.gauge("blog.stream.extra-senders", this, stream -> stream.extraSenders());
+    }
+
+    // 새 구독 : lastEventId가 있으면 그 다음 이벤트부터 다시 보냄
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        // 다시 보내는 사이에 새 이벤트가 빠지거나 두 번 가지 않도록 발행(accept)과 같은 잠금 안에서 등록
+        synchronized (this) {
+            for (Message message : backlog(lastEventId)) {
+                subscriber.offer(message);
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @Override
+    public String name() {
+        return "sse-stream";
+    }
+
+    @Override
+    public void accept(List<ArticleEvent> events) {
+        List<Message> messages = new ArrayList<>(events.size());
+        for (ArticleEvent event : events) {
+            messages.add(toMessage(event)); // 직렬화는 잠금 밖에서 한 번만
+        }
+        broadcast(messages);
+    }
+
+    // 버려진 이벤트는 이어서 보낼 수 없으므로 모든 구독자에게 reset을 보내서 목록을 다시 불러오게 함
+    // 번호를 붙여 replay에도 넣으므로, 그 전 번호로 다시 연결한 구독자도 reset을 받음
+    @Override
+    public void missedEvents() {
+        resets.increment();
+        broadcast(List.of(new Message(null, RESET, "{}")));
+    }
+
+    private void broadcast(List<Message> messages) {
+        List<Subscriber> slow = new ArrayList<>();
+        synchronized (this) {
+            for (Message message : messages) {
+                long sequence = ++lastSequence;
+                Message numbered = message.withId(eventId(sequence));
+                replay[(int) (sequence % replay.length)] = numbered;
+
+                for (Subscriber subscriber : subscribers) {
+                    if (!subscriber.offer(numbered)) {
+                        slow.add(subscriber);
+                    }
+                }
+            }
+        }
+        slow.forEach(this::drop);
+    }
+
+    @PreDestroy
+    public void close() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> {
+            if (subscriber.close()) {
+                subscriber.completeIfIdle();
+            }
+        });
+        senders.shutdown();
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // lastEventId 다음부터 다시 보낼 이벤트 (이어서 보낼 수 없으면 reset 하나)
+    private List<Message> backlog(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+
+        long sequence = parseSequence(lastEventId);
+        long missed = lastSequence - sequence;
+        if (sequence < 0 || missed < 0 || missed > replay.length || missed > clientBufferSize) {
+            resets.increment();
+            return List.of(new Message(eventId(lastSequence), RESET, "{}"));
+        }
+
+        List<Message> backlog = new ArrayList<>((int) missed);
+        for (long s = sequence + 1; s <= lastSequence; s++) {
+            backlog.add(replay[(int) (s % replay.length)]);
+        }
+        return backlog;
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private Message toMessage(ArticleEvent event) {
+        ArticleChangeResponse change;
+        String type;
+        if (event instanceof ArticleCreated created) {
+            type = "created";
+            change = new ArticleChangeResponse(created.getArticleId(), created.getTitle(), created.getContent());
+        } else if (event instanceof ArticleUpdated updated) {
+            type = "updated";
+            change = new ArticleChangeResponse(updated.getArticleId(), updated.getTitle(), updated.getContent());
+        } else if (event instanceof ArticleDeleted) {
+            type = "deleted";
+            change = new ArticleChangeResponse(event.getArticleId());
+        } else {
+            throw new IllegalArgumentException("unknown article event: " + event.getClass().getName());
+        }
+
+        try {
+            return new Message(null, type, objectMapper.writeValueAsString(change));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void broadcast(Message message) {
+        List<Subscriber> slow = new ArrayList<>();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(message)) {
+                slow.add(subscriber);
+            }
+        }
+        slow.forEach(this::drop);
+    }
+
+    // 큐가 가득 찬 구독자 : 기다리지 않고 연결을 끊음 (다시 연결하면 replay window에서 이어받음)
+    private void drop(Subscriber subscriber) {
+        if (subscriber.close()) {
+            droppedSubscribers.increment();
+            subscriber.completeIfIdle();
+        }
+    }
+
+    int senderThreadLimit() {
+        return senders.getMaximumPoolSize();
+    }
+
+    // send-timeout 동안 한 이벤트를 다 쓰지 못한 구독자를 끊고, 한도 안이면 그 전송이 끝날 때까지 전송 스레드를 하나 늘림
+    // 스레드를 먼저 늘리고 표시하므로, 전송이 끝나는 쪽은 STUCK을 봤을 때만 줄임 (그 사이에 끝났으면 여기서 되돌림)
+    private void dropStuckSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince.get();
+            if (since == IDLE || since == STUCK || since == STUCK_WITHOUT_SENDER || now - since <= sendTimeoutNanos) {
+                continue;
+            }
+
+            boolean added = addSender();
+            if (subscriber.sendingSince.compareAndSet(since, added ? STUCK : STUCK_WITHOUT_SENDER)) {
+                sendTimeouts.increment();
+                log.debug("article stream subscriber did not accept an event within {} ms, dropping{}",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos), added ? "" : " (no extra sender left)");
+                drop(subscriber);
+            } else if (added) {
+                removeSender();
+            }
+        }
+    }
+
+    // 늘릴 때는 최대를 먼저, 줄일 때는 기본 크기를 먼저 바꿈 (기본 크기가 최대보다 클 수 없음)
+    // 이미 max-extra-senders개를 더 붙였으면 늘리지 않고 false
+    private synchronized boolean addSender() {
+        if (extraSenders >= maxExtraSenders) {
+            return false;
+        }
+        extraSenders++;
+        senders.setMaximumPoolSize(senders.getMaximumPoolSize() + 1);
+        senders.setCorePoolSize(senders.getCorePoolSize() + 1); // 큐에서 기다리던 전송은 새 스레드가 바로 가져감
+        return true;
+    }
+
+    private synchronized void removeSender() {
+        extraSenders--;
+        senders.setCorePoolSize(senders.getCorePoolSize() - 1);
+        senders.setMaximumPoolSize(senders.getMaximumPoolSize() - 1);
+    }
+
+    private synchronized int extraSenders() {
+        return extraSenders;
+    }
+
+    // 보낼 이벤트 하나 : id, 이름, 미리 직렬화한 JSON (하트비트는 주석)
+    private static final class Message {
+
+        private static final Message HEARTBEAT = new Message(null, null, null);
+
+        private final String id;
+        private final String type;
+        private final String data;
+
+        private Message(String id, String type, String data) {
+            this.id = id;
+            this.type = type;
+            this.data = data;
+        }
+
+        private Message withId(String id) {
+            return new Message(id, type, data);
+        }
+
+        private SseEmitter.SseEventBuilder toEvent() {
+            if (type == null) {
+                return SseEmitter.event().comment("");
+            }
+            return SseEmitter.event().id(id).name(type).data(data);
+        }
+    }
+
+    // 연결 하나 : 보낼 이벤트 큐와, 큐를 비우는 작업이 전송 스레드에 올라가 있는지 여부
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue = new ArrayBlockingQueue<>(clientBufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final AtomicLong sendingSince = new AtomicLong(IDLE); // 전송을 시작한 시각 (IDLE : 보내는 중이 아님, STUCK : 시간 초과로 끊음)
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // 큐가 가득 차면 false (끊긴 연결은 버려도 되므로 true)
+        private boolean offer(Message message) {
+            if (closed.get()) {
+                return true;
+            }
+            if (!queue.offer(message)) {
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Message message;
+                while (!closed.get() && (message = queue.poll()) != null) {
+                    send(message);
+                }
+            } catch (IOException | IllegalStateException e) { // 클라이언트가 연결을 끊었거나 이미 완료된 연결
+                log.debug("article stream subscriber disconnected: {}", e.getMessage());
+                close();
+            } finally {
+                scheduled.set(false);
+                if (closed.get()) { // 보내는 중에 끊긴 연결은 전송이 끝난 여기서 완료 (send와 complete는 같은 잠금을 씀)
+                    completeIfIdle();
+                } else if (!queue.isEmpty()) { // 비우고 나서 플래그를 내리기 전에 들어온 이벤트
+                    schedule();
+                }
+            }
+        }
+
+        private void send(Message message) throws IOException {
+            long start = System.nanoTime();
+            sendingSince.set(start);
+            try {
+                emitter.send(message.toEvent());
+            } finally {
+                if (sendingSince.getAndSet(IDLE) == STUCK) { // 감시 작업이 끊고 전송 스레드를 하나 늘려 둠
+                    removeSender();
+                }
+            }
+        }
+
+        // 보내는 중이 아니면 바로 완료, 보내는 중이면 전송 스레드가 끝날 때 완료 (멈춘 send 뒤에서 기다리지 않음)
+        private void completeIfIdle() {
+            if (scheduled.compareAndSet(false, true) && completed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+
+        private void schedule() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RejectedExecutionException e) { // 종료 중
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        // 처음 닫을 때만 true
+        private boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            subscribers.remove(this);
+            queue.clear();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.itschool.springbootdeveloper.view;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.itschool.springbootdeveloper.config.datasource.ReadYourWritesTracker;
+import com.itschool.springbootdeveloper.dto.ArticleListViewResponse;
+import com.itschool.springbootdeveloper.dto.ArticleSnapshot;
+import com.itschool.springbootdeveloper.dto.ArticleSummary;
+import com.itschool.springbootdeveloper.dto.ArticleViewResponse;
+import com.itschool.springbootdeveloper.dto.CursorPage;
+import com.itschool.springbootdeveloper.event.ArticleEvent;
+import com.itschool.springbootdeveloper.event.ArticleEventConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 글 화면에서 모든 사용자에게 같은 부분(글 카드, 글 본문)을 한 번만 렌더링해서 캐싱
+// 글이 바뀌면 그 글이 보이는 목록 페이지만 쓰기 요청 스레드에서 바로 제거하고(BlogService), 글 카드/본문 조각은 글 이벤트(ArticleEventPipeline)를 받아서 제거함
+// 사용자마다 다른 부분(로그인 정보, 버튼 등)은 캐싱하지 않고 페이지 템플릿에서 매번 렌더링
+@Component
+@RequiredArgsConstructor
+public class ArticleFragments implements ArticleEventConsumer {
+
+    private static final String TEMPLATE = "fragments/article";
+    private static final TemplateSpec CARD = new TemplateSpec(TEMPLATE, Set.of("articleCard"), TemplateMode.HTML, null);
+    private static final TemplateSpec BODY = new TemplateSpec(TEMPLATE, Set.of("articleBody"), TemplateMode.HTML, null);
+
+    private final ITemplateEngine templateEngine;
+    private final Cache<String, RenderedFragment> fragmentCache; // CacheConfig : "card:{id}", "body:{id}" -> 버전별 HTML
+    private final Cache<Long, ArticlePageFragment> articlePageCache; // CacheConfig : 목록 커서(afterId) -> 페이지 HTML
+    private final ReadYourWritesTracker readYourWrites; // 변경 직후에는 캐싱할 페이지를 주 DB에서 조회
+    private final AtomicLong generation = new AtomicLong(); // 글이 바뀔 때마다 증가
+
+    // 글 본문 조각 : 캐시된 버전과 같으면 그대로 사용
+    public String body(ArticleSnapshot article) {
+        return render("body:" + article.getId(), article.getVersion(),
+                () -> templateEngine.process(BODY, new Context(null, Map.of("article", new ArticleViewResponse(article)))));
+    }
+
+    // 목록 페이지 : 캐시에 없을 때만 pageLoader로 조회해서 카드를 이어 붙임 (카드도 글 버전별로 캐시)
+    public ArticlePageFragment page(long afterId, Supplier<CursorPage<ArticleSummary>> pageLoader) {
+        ArticlePageFragment cached = articlePageCache.getIfPresent(afterId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generationAtLoad = generation.get();
+        CursorPage<ArticleSummary> page = readYourWrites.readFresh(pageLoader);
+        List<ArticleSummary> articles = page.getContent();
+
+        StringBuilder html = new StringBuilder();
+        for (ArticleSummary article : articles) {
+            html.append(card(article));
+        }
+
+        long lastId = articles.isEmpty() ? afterId : articles.get(articles.size() - 1).getId();
+        ArticlePageFragment fragment = new ArticlePageFragment(afterId, lastId, page.hasNext(), page.getNextCursor(), html.toString());
+
+        // 조회하는 사이에 글이 바뀌었으면 이미 무효화가 지나갔을 수 있으므로 캐싱하지 않음
+        if (generation.get() == generationAtLoad) {
+            articlePageCache.put(afterId, fragment);
+        }
+        return fragment;
+    }
+
+    @Override
+    public String name() {
+        return "fragment-cache";
+    }
+
+    // 글이 보이는 목록 페이지를 제거 (BlogService가 변경 직후와 커밋 직후에 호출)
+    // 이벤트를 기다리면 글을 쓴 사용자가 바로 목록을 열었을 때 예전 페이지를 볼 수 있으므로 요청 스레드에서 바로 제거
+    public void evictPages(Collection<Long> ids) {
+        generation.incrementAndGet();
+        articlePageCache.asMap().values().removeIf(page -> ids.stream().anyMatch(page::covers));
+    }
+
+    // 글 카드/본문 조각은 버전이 다르면 어차피 다시 렌더링하므로, 이벤트를 받아서 옛 버전이 차지한 메모리만 비움
+    // 늦게 도착한 이벤트가 새 버전 조각을 지워도 다시 렌더링할 뿐이고, 빠진 이벤트의 옛 조각은 캐시 크기 제한으로 밀려나므로
+    // 버전은 비교하지 않고 missedEvents도 기본 구현(아무것도 하지 않음)을 씀
+    @Override
+    public void accept(List<ArticleEvent> events) {
+        Set<Long> ids = new HashSet<>();
+        for (ArticleEvent event : events) {
+            ids.add(event.getArticleId());
+        }
+
+        for (Long id : ids) {
+            fragmentCache.invalidate("card:" + id);
+            fragmentCache.invalidate("body:" + id);
+        }
+    }
+
+    private String card(ArticleSummary article) {
+        return render("card:" + article.getId(), article.getVersion(),
+                () -> templateEngine.process(CARD, new Context(null, Map.of("item", new ArticleListViewResponse(article)))));
+    }
+
+    private String render(String key, Long version, Supplier<String> renderer) {
+        RenderedFragment cached = fragmentCache.getIfPresent(key);
+        if (cached != null && cached.isVersion(version)) {
+            return cached.getHtml();
+        }
+
+        String html = renderer.get();
+        fragmentCache.put(key, new RenderedFragment(version, html));
+        return html;
+    }
+}
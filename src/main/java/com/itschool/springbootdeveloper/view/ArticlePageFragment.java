@@ -0,0 +1,22 @@
+package com.itschool.springbootdeveloper.view;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 렌더링된 글 목록 한 페이지 (커서 afterId 이후의 카드들)
+@Getter
+@RequiredArgsConstructor
+public class ArticlePageFragment {
+
+    private final long afterId;
+    private final long lastId; // 페이지의 마지막 글 id (빈 페이지면 afterId)
+    private final boolean hasNext;
+    private final String nextCursor;
+    private final String html;
+
+    // 이 id의 글이 추가/수정/삭제되면 페이지 내용이 바뀌는지
+    // 커서 이후 limit개를 보여주므로, 페이지 범위 안의 글이거나 마지막 페이지 뒤에 추가된 글이면 바뀜
+    boolean covers(long articleId) {
+        return articleId > afterId && (articleId <= lastId || !hasNext);
+    }
+}
@@ -0,0 +1,17 @@
+package com.itschool.springbootdeveloper.view;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 렌더링된 HTML 조각과 렌더링할 때의 글 버전 (버전이 다르면 다시 렌더링)
+@Getter
+@RequiredArgsConstructor
+public class RenderedFragment {
+
+    private final Long version;
+    private final String html;
+
+    boolean isVersion(Long version) {
+        return this.version != null && this.version.equals(version);
+    }
+}
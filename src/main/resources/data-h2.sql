@@ -0,0 +1,12 @@
+-- 내장 H2용 예제 데이터 : spring.sql.init.platform=h2 일 때만 실행 (test 프로필), MySQL에는 실행하지 않음
+-- 본문 행의 id는 글 id와 같음 (article_content.id -> article.id, ON DELETE CASCADE)
+INSERT INTO article(id, title, preview, created_at, updated_at) VALUES (next value for article_seq, 'Title1', 'Content1', now(), now());
+INSERT INTO article_content(id, compressed, original_length, body) VALUES (current value for article_seq, false, 8, STRINGTOUTF8('Content1'));
+INSERT INTO article(id, title, preview, created_at, updated_at) VALUES (next value for article_seq, 'Title2', 'Content2', now(), now());
+INSERT INTO article_content(id, compressed, original_length, body) VALUES (current value for article_seq, false, 8, STRINGTOUTF8('Content2'));
+INSERT INTO article(id, title, preview, created_at, updated_at) VALUES (next value for article_seq, 'Title3', 'Content3', now(), now());
+INSERT INTO article_content(id, compressed, original_length, body) VALUES (current value for article_seq, false, 8, STRINGTOUTF8('Content3'));
+INSERT INTO article(id, title, preview, created_at, updated_at) VALUES (next value for article_seq, 'Title4', 'Content4', now(), now());
+INSERT INTO article_content(id, compressed, original_length, body) VALUES (current value for article_seq, false, 8, STRINGTOUTF8('Content4'));
+INSERT INTO article(id, title, preview, created_at, updated_at) VALUES (next value for article_seq, 'Title5', 'Content5', now(), now());
+INSERT INTO article_content(id, compressed, original_length, body) VALUES (current value for article_seq, false, 8, STRINGTOUTF8('Content5'));
@@ -1,5 +0,0 @@
-INSERT INTO article(title, content, created_at, updated_at) VALUES ('Title1', 'Content1', now(), now());
-INSERT INTO article(title, content, created_at, updated_at) VALUES ('Title2', 'Content2', now(), now());
-INSERT INTO article(title, content, created_at, updated_at) VALUES ('Title3', 'Content3', now(), now());
-INSERT INTO article(title, content, created_at, updated_at) VALUES ('Title4', 'Content4', now(), now());
-INSERT INTO article(title, content, created_at, updated_at) VALUES ('Title5', 'Content5', now(), now());
\ No newline at end of file
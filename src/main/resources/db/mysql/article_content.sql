@@ -0,0 +1,23 @@
+-- 본문을 article.content 에서 article_content 테이블로 분리하는 버전을 배포하기 전에 기존 MySQL DB에 한 번 실행
+-- (이미 예전 방식(article.content_id)으로 분리한 DB는 이 파일 대신 article_content_key.sql을 실행)
+-- 1) 새 테이블/컬럼을 만들고, 새 글은 content 없이 저장되므로 content를 nullable로 바꿈
+--    본문 행의 id는 글 id와 같고, 글을 지우면 본문 행도 함께 지워짐
+CREATE TABLE IF NOT EXISTS article_content (
+    id              BIGINT   NOT NULL PRIMARY KEY,
+    compressed      BIT      NOT NULL,
+    original_length INT      NOT NULL,
+    body            LONGBLOB NOT NULL,
+    CONSTRAINT fk_article_content_article FOREIGN KEY (id) REFERENCES article (id) ON DELETE CASCADE
+);
+
+ALTER TABLE article
+    ADD COLUMN preview VARCHAR(100) NULL,
+    MODIFY content LONGTEXT NULL;
+
+-- 2) 새 버전이 뜨면 ArticleContentMigration이 content를 압축해서 article_content로 옮기고 content를 NULL로 비움
+--    (기존 글의 preview도 이때 채워짐)
+
+-- 3) 옮길 행이 남지 않았으면 (SELECT COUNT(*) FROM article WHERE content IS NOT NULL 이 0) 제약 조건을 걸고 옛 컬럼을 삭제
+-- ALTER TABLE article
+--     MODIFY preview VARCHAR(100) NOT NULL,
+--     DROP COLUMN content;
@@ -0,0 +1,24 @@
+-- 본문 행을 글 id로 저장하도록(article_content.id = article.id) 바꾼 버전을 배포하기 전에 기존 MySQL DB에 한 번 실행
+-- 글을 지우면 외래 키의 ON DELETE CASCADE로 본문 행도 지워지므로 삭제가 DELETE 한 번으로 끝남
+-- 1) 글 id로 키를 바꾼 새 본문 테이블에 옮김
+CREATE TABLE article_content_new (
+    id              BIGINT   NOT NULL PRIMARY KEY,
+    compressed      BIT      NOT NULL,
+    original_length INT      NOT NULL,
+    body            LONGBLOB NOT NULL,
+    CONSTRAINT fk_article_content_article FOREIGN KEY (id) REFERENCES article (id) ON DELETE CASCADE
+);
+INSERT INTO article_content_new (id, compressed, original_length, body)
+SELECT a.id, c.compressed, c.original_length, c.body
+FROM article a JOIN article_content c ON c.id = a.content_id;
+
+-- 2) article.content_id의 외래 키를 지움 (이름은 하이버네이트가 만든 값이라 조회해서 넣음)
+-- SELECT constraint_name FROM information_schema.key_column_usage
+-- WHERE table_schema = DATABASE() AND table_name = 'article' AND column_name = 'content_id' AND referenced_table_name IS NOT NULL;
+-- ALTER TABLE article DROP FOREIGN KEY <constraint_name>;
+ALTER TABLE article DROP COLUMN content_id;
+
+-- 3) 테이블을 바꾸고 더 이상 쓰지 않는 본문 시퀀스를 지움
+RENAME TABLE article_content TO article_content_old, article_content_new TO article_content;
+DROP TABLE article_content_old;
+DROP TABLE IF EXISTS article_content_seq;
@@ -0,0 +1,6 @@
+-- Article id 생성 전략을 IDENTITY -> 시퀀스(pooled)로 바꾼 뒤 기존 MySQL DB에 한 번 실행
+-- MySQL에는 시퀀스가 없어서 하이버네이트가 article_seq 테이블(next_val)로 시퀀스를 흉내냄
+-- 기존 글의 id와 겹치지 않도록 현재 최대 id + 할당 크기(50) 이후부터 발급받게 함
+CREATE TABLE IF NOT EXISTS article_seq (next_val BIGINT);
+DELETE FROM article_seq;
+INSERT INTO article_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM article;
@@ -64,3 +64,58 @@ if(createButton) {
         });
     });
 }
+
+// 목록 실시간 갱신
+// id가 article-list인 엘리먼트(글 목록 화면)에서만 글 변경 알림(SSE)을 구독
+const articleList = document.getElementById('article-list');
+
+if(articleList) {
+    // 연결이 끊기면 EventSource가 마지막으로 받은 이벤트 id(Last-Event-ID)로 알아서 다시 연결
+    const stream = new EventSource('/api/articles/stream');
+    const findCard = id => articleList.querySelector(`[data-article-id="${id}"]`);
+
+    // fragments/article.html의 articleCard와 같은 구조 (값은 textContent로 넣어서 이스케이프)
+    const createCard = article => {
+        const card = document.createElement('div');
+        card.className = 'row-6';
+        card.dataset.articleId = article.id;
+        card.innerHTML = '<div class="card"><div class="card-header"></div><div class="card-body">'
+            + '<h5 class="card-title"></h5><p class="card-text"></p>'
+            + '<a class="btn btn-primary">보러가기</a></div></div><br>';
+        card.querySelector('.card-header').textContent = article.id;
+        card.querySelector('a').href = `/articles/${article.id}`;
+        return card;
+    };
+    const fillCard = (card, article) => {
+        card.querySelector('.card-title').textContent = article.title;
+        card.querySelector('.card-text').textContent = article.content;
+    };
+
+    stream.addEventListener('created', event => {
+        const article = JSON.parse(event.data);
+        // 목록은 id 순서라 새 글은 마지막 페이지 끝에만 보임
+        if(articleList.dataset.lastPage === 'true' && !findCard(article.id)) {
+            const card = createCard(article);
+            fillCard(card, article);
+            articleList.appendChild(card);
+        }
+    });
+
+    stream.addEventListener('updated', event => {
+        const article = JSON.parse(event.data);
+        const card = findCard(article.id);
+        if(card) {
+            fillCard(card, article);
+        }
+    });
+
+    stream.addEventListener('deleted', event => {
+        const card = findCard(JSON.parse(event.data).id);
+        if(card) {
+            card.remove();
+        }
+    });
+
+    // 놓친 알림을 이어받을 수 없을 때 (너무 오래 끊겼거나 서버 재시작) 목록을 새로 불러옴
+    stream.addEventListener('reset', () => location.reload());
+}
@@ -0,0 +1,47 @@
+package com.itschool.springbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+// 시큐리티 필터 체인을 거치는 MockMvc로 액추에이터 엔드포인트 접근 확인
+@SpringBootTest(properties = "blog.management.scrape-addresses=10.0.0.0/8")
+@AutoConfigureMockMvc
+@AutoConfigureObservability // 테스트에서는 기본으로 꺼지는 프로메테우스 내보내기(/actuator/prometheus)를 켬
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("WebSecurityConfig: 헬스 체크는 누구나 호출할 수 있다.")
+    @Test
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/health").with(from("203.0.113.7")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @DisplayName("WebSecurityConfig: 메트릭 수집은 허용한 주소에서만 응답하고 다른 주소는 막는다.")
+    @Test
+    void prometheusOnlyFromScrapeAddresses() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus").with(from("10.1.2.3")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus").with(from("203.0.113.7")))
+                .andExpect(MockMvcResultMatchers.status().isFound()) // 인증되지 않은 요청이므로 로그인 페이지로
+                .andExpect(MockMvcResultMatchers.redirectedUrlPattern("**/login"));
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
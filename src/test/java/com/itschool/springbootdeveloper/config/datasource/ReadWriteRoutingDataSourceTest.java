@@ -0,0 +1,155 @@
+package com.itschool.springbootdeveloper.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 내장 H2 DB 여러 개를 주 DB와 복제 DB로 사용하고, 각 DB의 node 테이블에 자기 이름을 넣어서 어디서 읽었는지 확인
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration STICKY_WINDOW = Duration.ofSeconds(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(STICKY_WINDOW, nanos::get);
+
+    private ReadWriteRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        SecurityContextHolder.clearContext();
+        dataSource.close();
+    }
+
+    @DisplayName("읽기 전용 트랜잭션은 복제 DB에서, 쓰기 트랜잭션은 주 DB에서 실행한다.")
+    @Test
+    void routeByReadOnly() {
+        // given
+        setUp(node("primary"), List.of(node("replica")));
+
+        // when
+        String readOnlyNode = readOnly.execute(status -> currentNode());
+        String readWriteNode = readWrite.execute(status -> currentNode());
+
+        // then
+        assertThat(readOnlyNode).isEqualTo("replica");
+        assertThat(readWriteNode).isEqualTo("primary");
+    }
+
+    @DisplayName("복제 DB가 여러 개면 읽기 전용 트랜잭션을 번갈아 보낸다.")
+    @Test
+    void roundRobinReplicas() {
+        // given
+        setUp(node("primary"), List.of(node("replica-a"), node("replica-b")));
+
+        // when
+        String first = readOnly.execute(status -> currentNode());
+        String second = readOnly.execute(status -> currentNode());
+
+        // then
+        assertThat(Set.of(first, second)).containsExactlyInAnyOrder("replica-a", "replica-b");
+    }
+
+    @DisplayName("커넥션을 얻지 못한 복제 DB는 제외하고 다른 DB에서 읽는다.")
+    @Test
+    void failoverWhenReplicaIsDown() {
+        // given
+        setUp(node("primary"), List.of(unavailable()));
+        ReplicaNode replica = dataSource.getReplicas().get(0);
+
+        // when
+        String node = readOnly.execute(status -> currentNode());
+
+        // then
+        assertThat(node).isEqualTo("primary");
+        assertThat(replica.isHealthy()).isFalse();
+    }
+
+    @DisplayName("쓰기를 커밋한 사용자는 잠시 동안 주 DB에서 읽고, 다른 사용자는 복제 DB에서 읽는다.")
+    @Test
+    void readYourWrites() {
+        // given
+        setUp(node("primary"), List.of(node("replica")));
+        login("writer@email.com");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+
+        // when
+        String writerNode = readOnly.execute(status -> currentNode());
+        login("reader@email.com");
+        String readerNode = readOnly.execute(status -> currentNode());
+        login("writer@email.com");
+        nanos.addAndGet(STICKY_WINDOW.toNanos());
+        String writerNodeAfterWindow = readOnly.execute(status -> currentNode());
+
+        // then
+        assertThat(writerNode).isEqualTo("primary");
+        assertThat(readerNode).isEqualTo("replica");
+        assertThat(writerNodeAfterWindow).isEqualTo("replica");
+    }
+
+    private void setUp(DataSource primary, List<DataSource> replicas) {
+        List<ReplicaNode> nodes = replicas.stream()
+                .map(replica -> new ReplicaNode("replica", replica))
+                .toList();
+        dataSource = new ReadWriteRoutingDataSource(primary, nodes, readYourWrites, Duration.ofMinutes(1));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static void login(String email) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                email, null, AuthorityUtils.createAuthorityList("user")));
+    }
+
+    // 이름이 같은 내장 DB는 하나뿐이므로, DB 이름으로 구분되는 주 DB/복제 DB를 만듦
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(32))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+
+    private static DataSource unavailable() {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("replica is down");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itschool.springbootdeveloper.repository.RevokedTokenRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenAuthenticationFilterTest {
+
+    private final JwtProperties jwtProperties = jwtProperties();
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final TokenProvider tokenProvider = new TokenProvider(jwtProperties,
+            new TokenRevocationList(revokedTokenRepository), new ObjectMapper());
+    private final TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokenProvider, jwtProperties);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @DisplayName("TokenAuthenticationFilter: access 쿠키 없이 refresh 쿠키로 요청하면 인증하고 access/refresh 쿠키를 새로 발급하며, 쓴 refresh 토큰은 다시 쓸 수 없다.")
+    @Test
+    void rotateRefreshTokenFromCookie() throws Exception {
+        // given
+        String refresh = tokenProvider.generateRefreshToken("user@email.com", AuthorityUtils.createAuthorityList("user"));
+
+        // when
+        MockHttpServletResponse response = request(refresh);
+
+        // then
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user@email.com");
+        List<String> cookies = response.getHeaders(HttpHeaders.SET_COOKIE);
+        assertThat(cookies).anyMatch(cookie -> cookie.startsWith(TokenCookies.ACCESS_TOKEN + "="));
+        assertThat(cookies).anyMatch(cookie -> cookie.startsWith(TokenCookies.REFRESH_TOKEN + "=")
+                && !cookie.startsWith(TokenCookies.REFRESH_TOKEN + "=" + refresh + ";"));
+        assertThat(tokenProvider.validate(refresh)).isEmpty();
+
+        // when : 같은 refresh 토큰을 다시 사용
+        SecurityContextHolder.clearContext();
+        MockHttpServletResponse reused = request(refresh);
+
+        // then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(reused.getHeaders(HttpHeaders.SET_COOKIE)).isEmpty();
+    }
+
+    @DisplayName("TokenAuthenticationFilter: 같은 refresh 토큰을 다른 요청(다른 노드)이 먼저 교체했으면 인증하지 않고 쿠키도 발급하지 않는다.")
+    @Test
+    void skipRefreshWhenOtherRequestClaimedToken() throws Exception {
+        // given : 검증은 통과했지만 폐기 INSERT에서 기본 키 중복
+        String refresh = tokenProvider.generateRefreshToken("user@email.com", AuthorityUtils.createAuthorityList("user"));
+        when(revokedTokenRepository.insert(anyLong(), anyLong()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // when
+        MockHttpServletResponse response = request(refresh);
+
+        // then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).isEmpty();
+    }
+
+    private MockHttpServletResponse request(String refresh) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/articles");
+        request.setCookies(new Cookie(TokenCookies.REFRESH_TOKEN, refresh));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static JwtProperties jwtProperties() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setEnabled(true);
+        jwtProperties.setSecretKey("test-secret-key-test-secret-key-0123");
+        return jwtProperties;
+    }
+}
@@ -0,0 +1,150 @@
+package com.itschool.springbootdeveloper.config.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itschool.springbootdeveloper.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenProviderTest {
+
+    private static final String SECRET_KEY = "test-secret-key-test-secret-key-0123";
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class); // 노드들이 공유하는 폐기 목록 테이블
+    private TokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = tokenProvider("springboot-developer", SECRET_KEY);
+    }
+
+    @DisplayName("validate(): 발급한 access 토큰을 검증하면 사용자 정보를 돌려준다.")
+    @Test
+    void validateAccessToken() {
+        // given
+        String token = tokenProvider.generateAccessToken("user@email.com", AuthorityUtils.createAuthorityList("user"));
+
+        // when
+        Optional<TokenClaims> claims = tokenProvider.validate(token);
+
+        // then
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("user@email.com");
+        assertThat(claims.get().isAccess()).isTrue();
+        assertThat(claims.get().getAuthorities()).containsExactly("user");
+    }
+
+    @DisplayName("validate(): 서명이 변조된 토큰은 거부한다.")
+    @Test
+    void validateTamperedToken() {
+        // given
+        String token = tokenProvider.generateAccessToken("user@email.com", AuthorityUtils.createAuthorityList("user"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // when, then
+        assertThat(tokenProvider.validate(tampered)).isEmpty();
+    }
+
+    @DisplayName("validate(): 폐기한 토큰은 거부한다.")
+    @Test
+    void validateRevokedToken() {
+        // given
+        String token = tokenProvider.generateRefreshToken("user@email.com", AuthorityUtils.createAuthorityList("user"));
+        tokenProvider.revoke(tokenProvider.validate(token).orElseThrow());
+
+        // when, then
+        assertThat(tokenProvider.validate(token)).isEmpty();
+    }
+
+    @DisplayName("validate(): 다른 노드에서 폐기한 refresh 토큰은 공유 테이블을 확인해서 거부하고, access 토큰은 테이블을 조회하지 않는다.")
+    @Test
+    void validateTokenRevokedOnOtherNode() {
+        // given
+        String refresh = tokenProvider.generateRefreshToken("user@email.com", AuthorityUtils.createAuthorityList("user"));
+        String access = tokenProvider.generateAccessToken("user@email.com", AuthorityUtils.createAuthorityList("user"));
+        when(revokedTokenRepository.existsById(anyLong())).thenReturn(true);
+
+        // when, then
+        assertThat(tokenProvider.validate(refresh)).isEmpty();
+        assertThat(tokenProvider.validate(access)).isPresent();
+        verify(revokedTokenRepository).existsById(anyLong());
+    }
+
+    @DisplayName("revoke(): 폐기한 토큰은 공유 테이블에도 저장한다.")
+    @Test
+    void revokeStoresInSharedTable() {
+        // given
+        String token = tokenProvider.generateRefreshToken("user@email.com", AuthorityUtils.createAuthorityList("user"));
+        TokenClaims claims = tokenProvider.validate(token).orElseThrow();
+
+        // when
+        boolean revoked = tokenProvider.revoke(claims);
+
+        // then
+        assertThat(revoked).isTrue();
+        verify(revokedTokenRepository).insert(claims.getTokenId(), claims.getExpiresAt());
+    }
+
+    @DisplayName("revoke(): 같은 토큰을 이미 폐기했거나 다른 노드가 먼저 폐기했으면 false를 돌려준다.")
+    @Test
+    void revokeReturnsFalseWhenAlreadyClaimed() {
+        // given
+        TokenClaims first = tokenProvider.validate(
+                tokenProvider.generateRefreshToken("user@email.com", AuthorityUtils.createAuthorityList("user"))).orElseThrow();
+        TokenClaims second = tokenProvider.validate(
+                tokenProvider.generateRefreshToken("user@email.com", AuthorityUtils.createAuthorityList("user"))).orElseThrow();
+        when(revokedTokenRepository.insert(second.getTokenId(), second.getExpiresAt()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // when, then : 이 노드에서 두 번 폐기
+        assertThat(tokenProvider.revoke(first)).isTrue();
+        assertThat(tokenProvider.revoke(first)).isFalse();
+        verify(revokedTokenRepository, times(1)).insert(first.getTokenId(), first.getExpiresAt());
+
+        // when, then : 다른 노드가 먼저 폐기 (기본 키 중복)
+        assertThat(tokenProvider.revoke(second)).isFalse();
+    }
+
+    @DisplayName("validate(): 다른 발급자(iss)가 같은 키로 서명한 토큰은 거부한다.")
+    @Test
+    void validateTokenFromOtherIssuer() {
+        // given
+        String token = tokenProvider("other-service", SECRET_KEY)
+                .generateAccessToken("user@email.com", AuthorityUtils.createAuthorityList("user"));
+
+        // when, then
+        assertThat(tokenProvider.validate(token)).isEmpty();
+        verify(revokedTokenRepository, never()).existsById(anyLong());
+    }
+
+    @DisplayName("TokenProvider: 토큰 인증을 켰는데 서명 키가 없거나 32바이트보다 짧으면 시작하지 않는다.")
+    @Test
+    void rejectMissingOrShortSecretKey() {
+        assertThatThrownBy(() -> tokenProvider("springboot-developer", null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> tokenProvider("springboot-developer", "too-short-secret-key"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private TokenProvider tokenProvider(String issuer, String secretKey) {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setEnabled(true);
+        jwtProperties.setIssuer(issuer);
+        jwtProperties.setSecretKey(secretKey);
+
+        return new TokenProvider(jwtProperties, new TokenRevocationList(revokedTokenRepository), new ObjectMapper());
+    }
+}
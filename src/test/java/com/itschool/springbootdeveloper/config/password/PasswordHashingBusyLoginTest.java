@@ -0,0 +1,106 @@
+package com.itschool.springbootdeveloper.config.password;
+
+import com.itschool.springbootdeveloper.domain.User;
+import com.itschool.springbootdeveloper.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 실제 톰캣으로 로그인 (MockMvc는 시큐리티 필터 체인, /error 디스패치를 거치지 않음)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "blog.security.password.strength=4", // cost 보정 생략
+        "blog.security.password.threads=1",
+        "blog.security.password.queue-capacity=1",
+        "blog.security.password.retry-after=7"
+})
+class PasswordHashingBusyLoginTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ExecutorService passwordHashingExecutor;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("로그인: 해싱 풀에 여유가 있으면 로그인하고 글 목록으로 보낸다.")
+    @Test
+    void login() throws Exception {
+        // given
+        userRepository.save(User.builder()
+                .email("busy@test.com")
+                .password(passwordEncoder.encode("password"))
+                .build());
+
+        // when
+        HttpResponse<String> response = login("password");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(302);
+        assertThat(response.headers().firstValue(HttpHeaders.LOCATION)).hasValueSatisfying(
+                location -> assertThat(location).endsWith("/articles"));
+    }
+
+    @DisplayName("로그인: 해싱 풀이 가득 차 있으면 로그인 페이지로 보내지 않고 503과 Retry-After를 응답한다.")
+    @Test
+    void loginWhileHashingPoolIsFull() throws Exception {
+        // given : 사용자를 저장하고, 해싱 스레드 하나와 대기 큐 한 칸을 막아 둠
+        userRepository.save(User.builder()
+                .email("busy@test.com")
+                .password(passwordEncoder.encode("password"))
+                .build());
+
+        passwordHashingExecutor.submit(this::awaitRelease);
+        started.await(); // 스레드가 첫 작업을 꺼낸 뒤에 큐를 채움
+        passwordHashingExecutor.submit(this::awaitRelease);
+
+        // when
+        HttpResponse<String> response = login("password");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(response.headers().firstValue(HttpHeaders.RETRY_AFTER)).hasValue("7");
+        assertThat(response.headers().firstValue(HttpHeaders.LOCATION)).isEmpty();
+    }
+
+    private HttpResponse<String> login(String password) throws Exception {
+        return HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/login"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=busy%40test.com&password=" + password))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Void awaitRelease() throws InterruptedException {
+        started.countDown();
+        release.await();
+        return null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.itschool.springbootdeveloper.config.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @DisplayName("AdmissionControlFilter: IP별 로그인 요청이 버킷을 다 쓰면 429와 Retry-After를 응답하고, 시간이 지나면 다시 받는다.")
+    @Test
+    void rejectWhenBucketIsEmpty() throws Exception {
+        // given : 한꺼번에 2번, 이후 초당 0.5번
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setAuth(new RateLimitProperties.Budget(2, 0.5));
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, clock::get);
+
+        // when
+        int first = login(filter, "10.0.0.1").getStatus();
+        int second = login(filter, "10.0.0.1").getStatus();
+        MockHttpServletResponse rejected = login(filter, "10.0.0.1");
+        int otherIp = login(filter, "10.0.0.2").getStatus();
+
+        // then
+        assertThat(first).isEqualTo(200);
+        assertThat(second).isEqualTo(200);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(otherIp).isEqualTo(200);
+
+        // when : 토큰 하나가 다시 채워진 뒤
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        // then
+        assertThat(login(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(login(filter, "10.0.0.1").getStatus()).isEqualTo(429);
+    }
+
+    @DisplayName("AdmissionControlFilter: 동시 처리 요청 수가 한도에 닿으면 503과 Retry-After를 응답한다.")
+    @Test
+    void shedWhenInFlightLimitReached() throws Exception {
+        // given : 한 번에 하나만 처리
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getShedding().setMaxInFlight(1);
+        properties.getShedding().setRetryAfter(Duration.ofSeconds(3));
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, clock::get);
+
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        // when : 첫 요청을 처리하는 동안 두 번째 요청이 들어옴
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(get("10.0.0.1"), outer, (request, response) ->
+                filter.doFilter(get("10.0.0.2"), nested, new MockFilterChain()));
+
+        // then
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested.getStatus()).isEqualTo(503);
+        assertThat(nested.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(filter.getConcurrency().getInFlight()).isZero();
+    }
+
+    @DisplayName("ConcurrencyLimiter: p99 응답 시간이 목표를 넘으면 한도를 줄이고, 목표 안으로 돌아오면 다시 늘린다.")
+    @Test
+    void adaptLimitToLatency() {
+        // given
+        RateLimitProperties.Shedding shedding = new RateLimitProperties.Shedding();
+        shedding.setMaxInFlight(100);
+        shedding.setMinInFlight(10);
+        shedding.setLatencyTarget(Duration.ofMillis(100));
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(shedding, 0);
+        long window = shedding.getWindow().toNanos();
+
+        // when : 한 주기 동안 느린 응답
+        runWindow(limiter, Duration.ofMillis(400), window);
+
+        // then
+        assertThat(limiter.getP99()).isGreaterThan(Duration.ofMillis(100).toNanos());
+        assertThat(limiter.getLimit()).isEqualTo(90);
+
+        // when : 다음 주기는 빠른 응답
+        runWindow(limiter, Duration.ofMillis(5), 2 * window);
+
+        // then
+        assertThat(limiter.getP99()).isLessThan(Duration.ofMillis(100).toNanos());
+        assertThat(limiter.getLimit()).isEqualTo(95);
+    }
+
+    private static void runWindow(ConcurrencyLimiter limiter, Duration latency, long windowEnd) {
+        for (int i = 0; i < 50; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(latency.toNanos(), windowEnd - 1);
+        }
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(latency.toNanos(), windowEnd); // 주기가 끝난 뒤 처음 끝난 요청이 한도를 조정
+    }
+
+    private MockHttpServletResponse login(AdmissionControlFilter filter, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login"); // 요청 경로 매칭은 servletPath 기준 (DispatcherServlet이 "/"에 매핑돼 있을 때와 같게)
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/articles");
+        request.setServletPath("/api/articles");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
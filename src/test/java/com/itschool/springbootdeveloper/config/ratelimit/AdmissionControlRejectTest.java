@@ -0,0 +1,116 @@
+package com.itschool.springbootdeveloper.config.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 실제 톰캣으로 거절 응답 확인 (MockMvc는 시큐리티 필터 체인, /error 디스패치를 거치지 않음)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "blog.security.rate-limit.write.capacity=1",
+        "blog.security.rate-limit.write.refill-per-second=0.001",
+        "blog.security.rate-limit.shedding.max-in-flight=1",
+        "blog.security.rate-limit.shedding.min-in-flight=1",
+        "blog.security.rate-limit.shedding.retry-after=3s",
+        "blog.security.password.strength=4", // cost 보정 생략
+        "blog.security.password.threads=1"
+})
+class AdmissionControlRejectTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ExecutorService passwordHashingExecutor;
+
+    private final HttpClient client = HttpClient.newHttpClient(); // 리다이렉트를 따라가지 않음
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @DisplayName("AdmissionControlFilter: 로그인 전 사용자가 버킷을 다 쓰면 로그인 페이지로 보내지 않고 429와 Retry-After를 응답한다.")
+    @Test
+    void rejectAnonymousWhenBucketIsEmpty() throws Exception {
+        // given : 쓰기 요청 토큰 하나를 씀 (인증되지 않았으므로 필터를 지난 뒤 로그인 페이지로 보내짐)
+        HttpResponse<String> first = send(HttpRequest.newBuilder(uri("/api/articles"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{}")));
+
+        // when
+        HttpResponse<String> rejected = send(HttpRequest.newBuilder(uri("/api/articles"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{}")));
+
+        // then
+        assertThat(first.statusCode()).isNotEqualTo(429);
+        assertThat(rejected.statusCode()).isEqualTo(429);
+        assertThat(rejected.headers().firstValue(HttpHeaders.RETRY_AFTER)).isPresent();
+        assertThat(rejected.headers().firstValue(HttpHeaders.LOCATION)).isEmpty();
+        assertThat(rejected.body()).isEqualTo("Too Many Requests");
+    }
+
+    @DisplayName("AdmissionControlFilter: 동시 처리 한도에 닿으면 로그인 전 사용자에게도 로그인 페이지로 보내지 않고 503과 Retry-After를 응답한다.")
+    @Test
+    void shedAnonymousWhenInFlightLimitReached() throws Exception {
+        // given : 해싱 스레드를 막아 두고 로그인 요청을 보냄 -> 해싱을 기다리는 동안 하나뿐인 자리를 차지함
+        passwordHashingExecutor.submit(this::awaitRelease);
+        started.await();
+        CompletableFuture<HttpResponse<String>> login = client.sendAsync(HttpRequest.newBuilder(uri("/login"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=shed%40test.com&password=password"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        BlockingQueue<Runnable> queue = ((ThreadPoolExecutor) passwordHashingExecutor).getQueue();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (queue.isEmpty() && System.nanoTime() < deadline) { // 로그인 요청의 해싱 작업이 큐에 들어갈 때까지
+            Thread.sleep(10);
+        }
+        assertThat(queue).isNotEmpty();
+
+        // when
+        HttpResponse<String> rejected = send(HttpRequest.newBuilder(uri("/login")).GET());
+        release.countDown();
+
+        // then
+        assertThat(rejected.statusCode()).isEqualTo(503);
+        assertThat(rejected.headers().firstValue(HttpHeaders.RETRY_AFTER)).hasValue("3");
+        assertThat(rejected.headers().firstValue(HttpHeaders.LOCATION)).isEmpty();
+        assertThat(rejected.body()).isEqualTo("Service Unavailable");
+        assertThat(login.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(302); // 자리를 차지했던 요청은 그대로 처리됨
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Void awaitRelease() throws InterruptedException {
+        started.countDown();
+        release.await();
+        return null;
+    }
+}
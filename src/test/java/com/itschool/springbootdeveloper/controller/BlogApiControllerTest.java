@@ -1,18 +1,33 @@
 package com.itschool.springbootdeveloper.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.itschool.springbootdeveloper.config.BinaryFormatConfig;
+import com.itschool.springbootdeveloper.config.sql.SqlStatisticsFilter;
 import com.itschool.springbootdeveloper.domain.Article;
 import com.itschool.springbootdeveloper.dto.AddArticleRequest;
 import com.itschool.springbootdeveloper.dto.UpdateArticleRequest;
+import com.itschool.springbootdeveloper.repository.BlogRepository;
+import com.itschool.springbootdeveloper.service.ArticleViewCounter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -20,6 +35,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 @AutoConfigureMockMvc
 class BlogApiControllerTest extends MockMvcTest<Article, Long> {
 
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private ArticleViewCounter articleViewCounter;
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
     @DisplayName("addArticle: 블로그 글 추가에 성공한다.")
     @Test
     public void addArticle() throws Exception {
@@ -46,7 +69,79 @@ class BlogApiControllerTest extends MockMvcTest<Article, Long> {
         // import static org.assertj.core.api.Assertions.assertThat;
         assertThat(articles.size()).isEqualTo(1); // 크기가 1인지 검증
         assertThat(articles.get(0).getTitle()).isEqualTo(title);
-        assertThat(articles.get(0).getContent()).isEqualTo(content);
+        // 본문은 지연 로딩되므로 함께 조회해서 확인
+        assertThat(blogRepository.findWithContentById(articles.get(0).getId()).get().getContent()).isEqualTo(content);
+    }
+
+    @DisplayName("addArticles: 블로그 글 여러 개를 한 번에 추가한다.")
+    @Test
+    public void addArticles() throws Exception {
+        // given
+        final String url = "/api/articles/batch";
+        final List<AddArticleRequest> requests = List.of(
+                new AddArticleRequest("title1", "content1"),
+                new AddArticleRequest("title2", "content2"),
+                new AddArticleRequest("title3", "content3"));
+
+        // when
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.post(url)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(requests)));
+
+        // then : 생성된 id 3개를 응답
+        result
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(3));
+
+        assertThat(baseRepository.count()).isEqualTo(3);
+    }
+
+    @DisplayName("addArticles: 한 번에 추가할 수 있는 수보다 많으면 아무것도 추가하지 않고 400을 응답한다.")
+    @Test
+    public void addTooManyArticles() throws Exception {
+        // given : 기본 한도(1000)보다 하나 많음
+        final List<AddArticleRequest> requests = IntStream.rangeClosed(0, 1000)
+                .mapToObj(i -> new AddArticleRequest("title" + i, "content"))
+                .toList();
+
+        // when
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.post("/api/articles/batch")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(requests)));
+
+        // then : 트랜잭션을 열기 전에 거절하므로 SQL을 실행하지 않음
+        result
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "0"));
+        assertThat(baseRepository.count()).isZero();
+    }
+
+    @DisplayName("searchArticles: 제목과 본문의 단어로 글을 검색하면 관련도 순으로 응답한다.")
+    @Test
+    public void searchArticles() throws Exception {
+        // given : API로 추가해야 글 이벤트로 검색 색인에도 반영됨
+        final String url = "/api/articles/search";
+        final List<AddArticleRequest> requests = List.of(
+                new AddArticleRequest("스프링 캐시 정리", "Caffeine으로 캐시를 적용한다."),
+                new AddArticleRequest("JPA 기초", "스프링 데이터 JPA로 엔티티를 저장한다."),
+                new AddArticleRequest("Docker", "컨테이너 이미지를 만든다."));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/articles/batch")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        awaitArticleEvents();
+
+        // when
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                .param("q", "스프링"));
+
+        // then : 제목에 단어가 있는 글이 먼저, 단어가 없는 글은 제외
+        result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("스프링 캐시 정리"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].title").value("JPA 기초"));
     }
 
     @DisplayName("findAllArticles: 블로그 글 목록 조회에 성공한다.")
@@ -76,12 +171,311 @@ class BlogApiControllerTest extends MockMvcTest<Article, Long> {
         // then : 그러면 결과를 검증해볼까요?
         resultActions
                 .andExpect(MockMvcResultMatchers.status().isOk()) // 응답코드가 200이 맞는가?
-                .andExpect(MockMvcResultMatchers.jsonPath("$[0].content").value(content))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].preview").value(content)) // 목록은 본문 대신 미리보기
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].content").doesNotExist())
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value(title));
 
         assertThat(beforeCount+1).isEqualTo(afterCount);
     }
 
+    @DisplayName("findAllArticles: 커서로 블로그 글 목록을 나눠서 조회한다.")
+    @Test
+    public void findAllArticlesWithCursor() throws Exception {
+        // given
+        final String url = "/api/articles";
+
+        for (int i = 1; i <= 3; i++) {
+            baseRepository.save(Article.builder()
+                    .title("title" + i)
+                    .content("content" + i)
+                    .build());
+        }
+
+        // when : 첫 페이지 (2개)
+        ResultActions firstPage = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                .param("limit", "2")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then
+        firstPage
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("title1"))
+                .andExpect(MockMvcResultMatchers.header().exists(BlogApiController.NEXT_CURSOR_HEADER));
+
+        String nextCursor = firstPage.andReturn().getResponse().getHeader(BlogApiController.NEXT_CURSOR_HEADER);
+
+        // when : 다음 페이지 (남은 1개, 더 이상 커서 없음)
+        mockMvc.perform(MockMvcRequestBuilders.get(url)
+                        .param("after", nextCursor)
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("title3"))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(BlogApiController.NEXT_CURSOR_HEADER));
+    }
+
+    @DisplayName("findAllArticles: 잘못된 커서는 400을 응답한다.")
+    @Test
+    public void findAllArticlesWithInvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/articles")
+                        .param("after", "not-a-cursor")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @DisplayName("findAllArticles: 목록은 Last-Modified 없이 ETag로만 304를 판단해서, 예전 글이 삭제되면 200을 응답한다.")
+    @Test
+    public void findAllArticlesNotModifiedByETagOnly() throws Exception {
+        // given
+        final String url = "/api/articles";
+        Article older = baseRepository.save(Article.builder().title("older").content("content").build());
+        baseRepository.save(Article.builder().title("newer").content("content").build());
+
+        MockHttpServletResponse first = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        // when : 가장 늦은 수정 시간은 그대로인 채로 예전 글이 삭제됨
+        baseRepository.deleteById(older.getId());
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 31 Dec 2999 23:59:59 GMT"));
+
+        // then
+        result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("newer"));
+    }
+
+    @DisplayName("findAllArticles: fields로 고른 필드만 응답한다.")
+    @Test
+    public void findAllArticlesWithFields() throws Exception {
+        // given
+        final String url = "/api/articles";
+
+        baseRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        // when
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                .param("fields", "title, id,createdAt")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then : 요청 순서와 상관없이 정해진 순서로, 고른 필드만
+        result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("title"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].createdAt").exists())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].content").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].views").doesNotExist());
+
+        JsonNode article = objectMapper.readTree(result.andReturn().getResponse().getContentAsByteArray()).get(0);
+        assertThat(article.fieldNames()).toIterable().containsExactly("id", "title", "createdAt");
+
+        // when : 목록은 본문 대신 미리보기만 고를 수 있음
+        mockMvc.perform(MockMvcRequestBuilders.get(url).param("fields", "preview"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].preview").value("content"));
+        mockMvc.perform(MockMvcRequestBuilders.get(url).param("fields", "id,content"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @DisplayName("findArticle: fields로 고른 필드만 응답하고, 모르는 필드는 400을 응답한다.")
+    @Test
+    public void findArticleWithFields() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+
+        Article article = baseRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        // when : 본문 없이 조회 (캐시에 없으므로 고른 컬럼만 조회)
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId())
+                .param("fields", "id,views")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then
+        result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(article.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.views").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title").doesNotExist());
+
+        // when : 본문을 고르면 본문 전체
+        mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId())
+                        .param("fields", "content")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").value("content"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").doesNotExist());
+
+        // when : 미리보기는 단건에서도 고를 수 있음 (캐시에 올라간 뒤이므로 본문에서 잘라서)
+        mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId())
+                        .param("fields", "preview")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.preview").value("content"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").doesNotExist());
+
+        // when : 모르는 필드
+        mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId())
+                        .param("fields", "id,password")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @DisplayName("exportArticles: 블로그 글 전체를 NDJSON으로 내보낸다.")
+    @Test
+    public void exportArticles() throws Exception {
+        // given
+        final String url = "/api/articles/export";
+
+        for (int i = 1; i <= 2; i++) {
+            baseRepository.save(Article.builder()
+                    .title("title" + i)
+                    .content("content" + i)
+                    .build());
+        }
+
+        // when : StreamingResponseBody는 비동기로 응답을 쓰기 때문에 asyncDispatch로 결과를 받음
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then : 한 줄에 글 하나
+        String[] lines = body.split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("title1");
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("title2");
+    }
+
+    @DisplayName("addArticles/findAllArticles: Content-Type, Accept가 CBOR이면 요청과 응답을 CBOR로 주고받는다.")
+    @Test
+    public void articlesInCbor() throws Exception {
+        // given
+        final List<AddArticleRequest> requests = List.of(
+                new AddArticleRequest("제목1", "내용1"),
+                new AddArticleRequest("제목2", "내용2"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/articles/batch")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(requests)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR));
+
+        // when
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/articles")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(result.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+        JsonNode articles = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(articles).hasSize(2);
+        assertThat(articles.get(0).get("title").asText()).isEqualTo("제목1");
+        assertThat(articles.get(1).get("preview").asText()).isEqualTo("내용2");
+    }
+
+    @DisplayName("exportArticles: Accept가 CBOR sequence이면 글을 CBOR 값으로 하나씩 이어서 내보낸다.")
+    @Test
+    public void exportArticlesInCbor() throws Exception {
+        // given
+        for (int i = 1; i <= 2; i++) {
+            baseRepository.save(Article.builder()
+                    .title("title" + i)
+                    .content("content" + i)
+                    .build());
+        }
+
+        // when
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/articles/export")
+                        .accept(BinaryFormatConfig.APPLICATION_CBOR_SEQ))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse();
+
+        // then
+        assertThat(response.getContentType()).isEqualTo(BinaryFormatConfig.APPLICATION_CBOR_SEQ_VALUE);
+        try (MappingIterator<JsonNode> articles = cborMapper.readerFor(JsonNode.class)
+                .readValues(response.getContentAsByteArray())) {
+            assertThat(articles.readAll())
+                    .extracting(article -> article.get("title").asText())
+                    .containsExactly("title1", "title2");
+        }
+    }
+
+    @DisplayName("streamArticles: 글을 추가하면 구독 중인 SSE 스트림으로 알림을 보낸다.")
+    @Test
+    public void streamArticles() throws Exception {
+        // given
+        final String url = "/api/articles/stream";
+        MvcResult stream = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // when
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new AddArticleRequest("새 글", "내용"))))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        awaitArticleEvents();
+
+        // then
+        String events = awaitStream(stream, "event:created");
+        assertThat(events).contains("\"title\":\"새 글\"", "\"content\":\"내용\"");
+        assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @DisplayName("streamArticles: Last-Event-ID로 다시 연결하면 놓친 알림부터 보내고, 이어받을 수 없으면 reset을 보낸다.")
+    @Test
+    public void streamArticlesResume() throws Exception {
+        // given : 첫 글 알림까지 받고 끊긴 구독자
+        final String url = "/api/articles/stream";
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.get(url)).andReturn();
+        createArticle("첫 글");
+        String received = awaitStream(first, "첫 글");
+        String lastEventId = received.substring(received.lastIndexOf("id:") + 3, received.indexOf('\n', received.lastIndexOf("id:")));
+
+        createArticle("둘째 글");
+
+        // when
+        MvcResult resumed = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                        .header("Last-Event-ID", lastEventId))
+                .andReturn();
+        MvcResult unknown = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                        .header("Last-Event-ID", "unknown-1"))
+                .andReturn();
+
+        // then
+        assertThat(awaitStream(resumed, "둘째 글")).doesNotContain("첫 글");
+        assertThat(awaitStream(unknown, "event:reset")).doesNotContain("event:created");
+    }
+
     @DisplayName("findArticle: 블로그 글 조회에 성공한다.")
     @Test
     public void findArticle() throws Exception {
@@ -112,6 +506,94 @@ class BlogApiControllerTest extends MockMvcTest<Article, Long> {
         assertThat(beforeCount + 1).isEqualTo(afterCount);
     }
 
+    @DisplayName("findArticle: 변경되지 않은 글을 ETag로 다시 조회하면 304를 응답한다.")
+    @Test
+    public void findArticleNotModified() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+
+        Article article = baseRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when : 받은 ETag로 조건부 요청
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // then : 본문 없이 304
+        result
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @DisplayName("findArticle: 한 번 조회한 글은 SQL 없이 캐시에서 응답한다.")
+    @Test
+    public void findArticleFromCache() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+
+        Article article = baseRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId()))
+                .andExpect(MockMvcResultMatchers.header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "1"));
+
+        // when : 같은 글을 다시 조회
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId()));
+
+        // then
+        result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "0"));
+    }
+
+    @DisplayName("findArticle: 조회수가 바뀌면 ETag도 바뀌고, 조회수를 DB에 반영해도 캐시에서 응답한다.")
+    @Test
+    public void findArticleAfterViewFlush() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+
+        Article article = baseRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId()))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when : 조회수가 늘어난 뒤 이전 ETag로 조건부 요청
+        articleViewCounter.increment(article.getId());
+        ResultActions changed = mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // then : 304가 아니라 새 조회수와 새 ETag
+        String changedEtag = changed
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.views").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changedEtag).isNotEqualTo(etag);
+
+        // when : 조회수를 DB에 반영한 뒤 다시 조회
+        articleViewCounter.flush();
+        ResultActions flushed = mockMvc.perform(MockMvcRequestBuilders.get(url, article.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, changedEtag));
+
+        // then : 캐시에 남아 있는 스냅샷에 반영한 조회수가 더해져 있으므로 SQL 없이 304
+        flushed
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "0"));
+        assertThat(baseRepository.findById(article.getId()).orElseThrow().getViews()).isEqualTo(1L);
+    }
+
     @DisplayName("deleteArticle: 블로그 글 삭제에 성공한다.")
     @Test
     public void deleteArticle() throws Exception {
@@ -171,11 +653,138 @@ class BlogApiControllerTest extends MockMvcTest<Article, Long> {
         // then
         result.andExpect(MockMvcResultMatchers.status().isOk());
 
-        Article article = baseRepository.findById(savedArticle.getId()).get();
+        Article article = blogRepository.findWithContentById(savedArticle.getId()).get();
 
         assertThat(article.getTitle()).isEqualTo(newTitle);
         assertThat(article.getContent()).isEqualTo(newContent);
 
         assertThat(beforeCount).isEqualTo(afterCount);
     }
-}
\ No newline at end of file
+
+    @DisplayName("updateArticle: If-Match 버전이 다르면 수정하지 않고 412를 응답한다.")
+    @Test
+    public void updateArticleWithStaleVersion() throws Exception {
+        // given : 조회해서 받은 ETag로 한 번 수정해서 버전을 올려둠
+        final String url = "/api/articles/{id}";
+
+        Article savedArticle = baseRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get(url, savedArticle.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.put(url, savedArticle.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("first", "first"))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // when : 같은(이제는 오래된) ETag로 다시 수정
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.put(url, savedArticle.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new UpdateArticleRequest("second", "second"))));
+
+        // then
+        result.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        Article article = baseRepository.findById(savedArticle.getId()).get();
+
+        assertThat(article.getTitle()).isEqualTo("first");
+        assertThat(article.getVersion()).isEqualTo(1L);
+    }
+
+    @DisplayName("updateArticle: If-Match의 약한 ETag는 버전이 같아도 일치하지 않는 것으로 보고 412를 응답한다.")
+    @Test
+    public void updateArticleWithWeakETag() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+
+        Article savedArticle = baseRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get(url, savedArticle.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when : 현재 버전의 ETag를 약한 ETag로 보냄
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.put(url, savedArticle.getId())
+                .header(HttpHeaders.IF_MATCH, "W/" + etag)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new UpdateArticleRequest("new", "new"))));
+
+        // then
+        result.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        Article article = baseRepository.findById(savedArticle.getId()).get();
+
+        assertThat(article.getTitle()).isEqualTo("title");
+        assertThat(article.getVersion()).isEqualTo(0L);
+    }
+
+    @DisplayName("updateArticle: If-Match 목록에 현재 버전의 ETag가 하나라도 있으면 수정한다.")
+    @Test
+    public void updateArticleWithETagList() throws Exception {
+        // given : 처음 받은 ETag는 한 번 수정해서 오래된 ETag가 됨
+        final String url = "/api/articles/{id}";
+
+        Article savedArticle = baseRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        String staleETag = mockMvc.perform(MockMvcRequestBuilders.get(url, savedArticle.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String currentETag = mockMvc.perform(MockMvcRequestBuilders.put(url, savedArticle.getId())
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("first", "first"))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when : 오래된 ETag와 현재 ETag를 함께 보냄
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.put(url, savedArticle.getId())
+                .header(HttpHeaders.IF_MATCH, staleETag + ", " + currentETag)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new UpdateArticleRequest("second", "second"))));
+
+        // then : 수정 후 버전은 같은 트랜잭션에서 읽어서 ETag로 돌려줌
+        result.andExpect(MockMvcResultMatchers.status().isOk());
+
+        Article article = baseRepository.findById(savedArticle.getId()).get();
+
+        assertThat(article.getTitle()).isEqualTo("second");
+        assertThat(article.getVersion()).isEqualTo(2L);
+        assertThat(result.andReturn().getResponse().getHeader(HttpHeaders.ETAG)).contains("-2");
+    }
+
+    @DisplayName("deleteArticle: 없는 글을 삭제하면 404를 응답한다.")
+    @Test
+    public void deleteMissingArticle() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/articles/{id}", Long.MAX_VALUE))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    private void createArticle(String title) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new AddArticleRequest(title, "내용"))))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        awaitArticleEvents();
+    }
+
+    // SSE는 전송 스레드가 따로 쓰므로 기대한 내용이 올 때까지 응답 본문을 확인
+    private static String awaitStream(MvcResult stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
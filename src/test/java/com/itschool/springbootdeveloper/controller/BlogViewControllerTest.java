@@ -0,0 +1,151 @@
+package com.itschool.springbootdeveloper.controller;
+
+import com.itschool.springbootdeveloper.config.sql.SqlStatisticsFilter;
+import com.itschool.springbootdeveloper.domain.Article;
+import com.itschool.springbootdeveloper.dto.AddArticleRequest;
+import com.itschool.springbootdeveloper.dto.UpdateArticleRequest;
+import com.itschool.springbootdeveloper.service.ArticleViewCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BlogViewControllerTest extends MockMvcTest<Article, Long> {
+
+    @Autowired
+    private ResourceUrlProvider resourceUrlProvider; // 정적 파일 경로 -> 내용 해시가 붙은 경로
+
+    @Autowired
+    private ArticleViewCounter articleViewCounter;
+
+    @DisplayName("getArticles: 두 번째 요청부터는 캐싱된 목록 HTML로 SQL 없이 응답한다.")
+    @Test
+    public void getArticlesFromFragmentCache() throws Exception {
+        // given : API로 추가해야 글 이벤트로 캐시가 비워짐
+        addArticles(List.of(new AddArticleRequest("첫 번째 글", "content1"),
+                new AddArticleRequest("두 번째 글", "content2")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // when
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/articles"));
+
+        // then
+        result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "0"))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("첫 번째 글")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("두 번째 글")));
+    }
+
+    @DisplayName("getArticles: 글을 수정하면 이벤트 처리를 기다리지 않아도 바로 그 글이 보이는 목록과 본문을 다시 렌더링한다.")
+    @Test
+    public void getArticlesAfterUpdate() throws Exception {
+        // given
+        Long id = addArticles(List.of(new AddArticleRequest("수정 전 제목", "content"))).get(0);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles"))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("수정 전 제목")));
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles/{id}", id))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("수정 전 제목")));
+
+        // when
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/articles/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("수정한 제목", "content"))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles"))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("수정한 제목")))
+                .andExpect(MockMvcResultMatchers.content().string(not(containsString("수정 전 제목"))));
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles/{id}", id))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("수정한 제목")));
+    }
+
+    @DisplayName("getArticles: 글을 쓰고 바로 목록을 열면 캐시된 예전 목록 대신 새 글이 보이는 목록을 보여준다.")
+    @Test
+    public void getArticlesRightAfterCreate() throws Exception {
+        // given : 목록 페이지가 캐시된 상태
+        addArticles(List.of(new AddArticleRequest("첫 번째 글", "content")));
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles"))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("첫 번째 글")));
+
+        // when : 이벤트 처리를 기다리지 않고 바로 조회
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new AddArticleRequest("방금 쓴 글", "content"))))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/articles"));
+
+        // then
+        result
+                .andExpect(MockMvcResultMatchers.content().string(containsString("첫 번째 글")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("방금 쓴 글")));
+    }
+
+    @DisplayName("getArticle: 조회수는 메모리에 모았다가 한 번에 반영하고, 반영 전에도 DB 값 + 대기 값을 보여준다.")
+    @Test
+    public void getArticleCountsViews() throws Exception {
+        // given
+        Long id = addArticles(List.of(new AddArticleRequest("조회수 글", "content"))).get(0);
+
+        // when
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles/{id}", id));
+        ResultActions beforeFlush = mockMvc.perform(MockMvcRequestBuilders.get("/articles/{id}", id));
+        articleViewCounter.flush();
+        ResultActions afterFlush = mockMvc.perform(MockMvcRequestBuilders.get("/articles/{id}", id));
+
+        // then
+        beforeFlush.andExpect(MockMvcResultMatchers.model().attribute("article", hasProperty("views", is(2L))));
+        afterFlush.andExpect(MockMvcResultMatchers.model().attribute("article", hasProperty("views", is(3L))));
+        assertThat(baseRepository.findById(id).orElseThrow().getViews()).isGreaterThanOrEqualTo(2L);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/articles/{id}", id))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.views").value(3));
+    }
+
+    @DisplayName("정적 파일: 내용 해시가 붙은 경로는 1년 동안 변하지 않는 캐시로 응답한다.")
+    @Test
+    public void getHashedStaticResource() throws Exception {
+        // given : 템플릿의 @{/js/article.js}가 바뀌는 경로
+        String hashedPath = resourceUrlProvider.getForLookupPath("/js/article.js");
+        assertThat(hashedPath).matches("/js/article-[0-9a-f]{32}\\.js");
+
+        // when
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(hashedPath));
+
+        // then
+        result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"));
+    }
+
+    private List<Long> addArticles(List<AddArticleRequest> requests) throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.post("/api/articles/batch")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        awaitArticleEvents();
+
+        return List.of(objectMapper.readValue(response, Long[].class));
+    }
+}
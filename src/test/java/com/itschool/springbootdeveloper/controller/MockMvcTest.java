@@ -2,17 +2,28 @@ package com.itschool.springbootdeveloper.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itschool.springbootdeveloper.SpringBootDeveloperApplication;
+import com.itschool.springbootdeveloper.config.sql.SqlStatisticsFilter;
+import com.itschool.springbootdeveloper.event.ArticleEventPipeline;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "blog.sql.budget.fail-on-exceed=true", // @SqlBudget 초과, N+1 의심 쿼리가 있으면 테스트 실패
+        "blog.sql.statistics.response-header=true" // 응답 헤더로 실행된 SQL 수 확인
+})
 public abstract class MockMvcTest<T, ID> {
     @Autowired
     protected MockMvc mockMvc;
@@ -23,12 +34,25 @@ public abstract class MockMvcTest<T, ID> {
     @Autowired
     private WebApplicationContext context;
 
+    @Autowired
+    private SqlStatisticsFilter sqlStatisticsFilter; // 요청별 SQL 수 집계
+
     @Autowired(required = false)
     JpaRepository<T, ID> baseRepository;
 
+    @Autowired
+    private ArticleEventPipeline articleEvents;
+
     @BeforeEach
     public void setMockMvcSetUp() {
-        this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
-        baseRepository.deleteAll();
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(sqlStatisticsFilter)
+                .build();
+        baseRepository.deleteAllInBatch(); // 엔티티를 하나씩 조회해서 지우지 않고 DELETE 한 번으로 비움
+    }
+
+    // 검색 색인, 화면 조각 캐시는 글 이벤트 consumer 스레드에서 갱신되므로 확인하기 전에 처리될 때까지 기다림
+    protected void awaitArticleEvents() {
+        assertThat(articleEvents.awaitConsumers(Duration.ofSeconds(5))).isTrue();
     }
 }
@@ -0,0 +1,42 @@
+package com.itschool.springbootdeveloper.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleContentTest {
+
+    @DisplayName("ArticleContent: 기준 크기 이상인 본문은 압축해서 저장하고 getText()로 원문을 돌려준다.")
+    @Test
+    void compressLargeContent() {
+        // given
+        String text = "스프링 부트로 블로그 만들기. ".repeat(200);
+
+        // when
+        ArticleContent content = new ArticleContent(text);
+
+        // then
+        assertThat(content.isCompressed()).isTrue();
+        assertThat(content.getOriginalLength()).isEqualTo(text.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(content.getBody().length).isLessThan(content.getOriginalLength() / 4);
+        assertThat(content.getText()).isEqualTo(text);
+    }
+
+    @DisplayName("ArticleContent: 작은 본문은 압축하지 않고, 수정하면 새 본문 크기에 맞게 다시 저장한다.")
+    @Test
+    void keepSmallContentPlain() {
+        // given
+        ArticleContent content = new ArticleContent("a".repeat(5000));
+
+        // when
+        content.update("짧은 본문");
+
+        // then
+        assertThat(content.isCompressed()).isFalse();
+        assertThat(content.getBody()).isEqualTo("짧은 본문".getBytes(StandardCharsets.UTF_8));
+        assertThat(content.getText()).isEqualTo("짧은 본문");
+    }
+}
@@ -0,0 +1,32 @@
+package com.itschool.springbootdeveloper.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArticleFieldSetTest {
+
+    @DisplayName("ArticleFieldSet: 같은 필드 조합은 같은 인스턴스이고, 고른 컬럼만 select 절에 넣는다.")
+    @Test
+    void parseFields() {
+        // when
+        ArticleFieldSet fields = ArticleFieldSet.parse("createdAt,id,title,id");
+
+        // then
+        assertThat(fields).isSameAs(ArticleFieldSet.parse("id, title, createdAt"));
+        assertThat(fields.getFields()).containsExactly(ArticleField.ID, ArticleField.TITLE, ArticleField.CREATED_AT);
+        assertThat(fields.getProjection()).isEqualTo("a.id, a.version, a.updatedAt, a.title, a.createdAt");
+    }
+
+    @DisplayName("ArticleFieldSet: 모르는 필드나 빈 값이면 예외가 발생한다.")
+    @Test
+    void rejectUnknownFields() {
+        assertThatThrownBy(() -> ArticleFieldSet.parse("id,body"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("body");
+        assertThatThrownBy(() -> ArticleFieldSet.parse(" , "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
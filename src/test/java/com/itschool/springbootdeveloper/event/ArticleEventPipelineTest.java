@@ -0,0 +1,163 @@
+package com.itschool.springbootdeveloper.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleEventPipelineTest {
+
+    private ArticleEventPipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.close();
+    }
+
+    @DisplayName("publish(): 여러 스레드가 발행한 이벤트를 consumer마다 빠짐없이, 스레드별 발행 순서대로 전달한다.")
+    @Test
+    void deliverToEveryConsumer() {
+        // given
+        RecordingConsumer first = new RecordingConsumer("first");
+        RecordingConsumer second = new RecordingConsumer("second");
+        pipeline = new ArticleEventPipeline(List.of(first, second), 64, 16, Duration.ofSeconds(5));
+
+        // when : 스레드마다 id 구간을 나눠서 발행
+        int producers = 3;
+        int eventsPerProducer = 1000;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[producers];
+        for (int p = 0; p < producers; p++) {
+            long base = p * 1_000_000L;
+            futures[p] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    pipeline.publish(new ArticleDeleted(base + i));
+                }
+            });
+        }
+        CompletableFuture.allOf(futures).join();
+
+        // then
+        assertThat(pipeline.awaitConsumers(Duration.ofSeconds(5))).isTrue();
+        assertThat(pipeline.retainedEvents()).isZero(); // 두 consumer가 모두 지나간 칸은 비워짐
+        for (RecordingConsumer consumer : List.of(first, second)) {
+            assertThat(consumer.ids).hasSize(producers * eventsPerProducer);
+            for (int p = 0; p < producers; p++) {
+                long base = p * 1_000_000L;
+                assertThat(consumer.ids.stream().filter(id -> id >= base && id < base + 1_000_000L).toList())
+                        .isSorted();
+            }
+        }
+    }
+
+    @DisplayName("publish(): 버퍼가 가득 차면 느린 consumer가 따라잡을 때까지 발행하는 쪽이 기다린다.")
+    @Test
+    void backpressureWhenBufferIsFull() throws Exception {
+        // given : 첫 이벤트를 처리하다 멈춰 있는 consumer, 버퍼 4칸
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingConsumer slow = new RecordingConsumer("slow") {
+            @Override
+            public void accept(List<ArticleEvent> events) {
+                entered.countDown();
+                await(release);
+                super.accept(events);
+            }
+        };
+        pipeline = new ArticleEventPipeline(List.of(slow), 4, 16, Duration.ofSeconds(5));
+
+        pipeline.publish(new ArticleDeleted(1));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 2; id <= 4; id++) { // 처리 중인 1번 칸을 빼면 남은 3칸이 참
+            pipeline.publish(new ArticleDeleted(id));
+        }
+
+        // when
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> pipeline.publish(new ArticleDeleted(5)));
+
+        // then
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(blocked).isNotDone();
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        assertThat(pipeline.awaitConsumers(Duration.ofSeconds(5))).isTrue();
+        assertThat(slow.ids).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @DisplayName("publish(): publish-timeout 동안 버퍼에 자리가 나지 않으면 기다리지 않고 이벤트를 버리고, consumer에 빠진 이벤트가 있다고 알린다.")
+    @Test
+    void dropAfterPublishTimeout() throws Exception {
+        // given : 첫 이벤트를 처리하다 멈춰 있는 consumer, 버퍼 2칸
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingConsumer stuck = new RecordingConsumer("stuck") {
+            @Override
+            public void accept(List<ArticleEvent> events) {
+                entered.countDown();
+                await(release);
+                super.accept(events);
+            }
+        };
+        pipeline = new ArticleEventPipeline(List.of(stuck), 2, 16, Duration.ofMillis(100));
+
+        pipeline.publish(new ArticleDeleted(1));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        pipeline.publish(new ArticleDeleted(2));
+
+        // when
+        long start = System.nanoTime();
+        pipeline.publish(new ArticleDeleted(3));
+        long waited = System.nanoTime() - start;
+
+        // then
+        assertThat(waited).isBetween(TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.SECONDS.toNanos(5));
+        release.countDown();
+        assertThat(pipeline.awaitConsumers(Duration.ofSeconds(5))).isTrue();
+        assertThat(stuck.ids).containsExactly(1L, 2L);
+        assertThat(stuck.missed).hasValue(1);
+    }
+
+    private static class RecordingConsumer implements ArticleEventConsumer {
+
+        private final String name;
+        final List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger missed = new AtomicInteger();
+
+        RecordingConsumer(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void accept(List<ArticleEvent> events) {
+            events.forEach(event -> ids.add(event.getArticleId()));
+        }
+
+        @Override
+        public void missedEvents() {
+            missed.incrementAndGet();
+        }
+
+        static void await(CountDownLatch latch) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.itschool.springbootdeveloper.search;
+
+import com.itschool.springbootdeveloper.event.ArticleCreated;
+import com.itschool.springbootdeveloper.event.ArticleDeleted;
+import com.itschool.springbootdeveloper.event.ArticleUpdated;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSearchIndexTest {
+
+    private final ArticleSearchIndex index = new ArticleSearchIndex();
+
+    @DisplayName("ArticleSearchIndex: 삭제된 문서를 정리할 때 더 이상 어떤 문서에도 없는 단어도 제거한다.")
+    @Test
+    void compactRemovesEmptyTerms() {
+        // given : 글마다 고유한 단어 하나와 공통 단어 하나
+        int articles = 3000;
+        for (int id = 0; id < articles; id++) {
+            index.index(id, "common", "unique" + id);
+        }
+        int termsBefore = index.termCount();
+
+        // when : 절반 넘게 삭제해서 정리가 일어나게 함
+        for (int id = 0; id < 2000; id++) {
+            index.remove(id);
+        }
+
+        // then
+        assertThat(index.termCount()).isLessThan(termsBefore);
+        assertThat(index.search("unique10", 10)).isEmpty();
+        assertThat(index.search("unique2500", 10)).extracting(SearchHit::getArticleId).containsExactly(2500L);
+        assertThat(index.search("common", articles)).hasSize(1000);
+
+        // when : 정리 뒤에 새 단어 추가
+        index.index(5000, "fresh", "unique2500");
+
+        // then
+        assertThat(index.search("fresh", 10)).extracting(SearchHit::getArticleId).containsExactly(5000L);
+        assertThat(index.search("unique2500", 10)).extracting(SearchHit::getArticleId)
+                .containsExactlyInAnyOrder(2500L, 5000L);
+    }
+
+    @DisplayName("ArticleSearchIndexUpdater: 전체 읽기 도중 들어온 이벤트가 더 새로우면 읽기가 가져온 오래된 내용으로 덮어쓰지 않고, DB에 없는 글은 색인에서 지운다.")
+    @Test
+    void rebuildKeepsNewerEvents() {
+        // given : 예전에 색인됐지만 이미 DB에서 사라진 4번 글
+        MemorySource source = new MemorySource(
+                new ArticleCreated(1L, 0, "before", "content"),
+                new ArticleCreated(2L, 0, "deleted", "content"));
+        ArticleSearchIndexUpdater updater = new ArticleSearchIndexUpdater(index, source);
+        updater.accept(List.of(new ArticleCreated(4L, 0, "stale", "content")));
+
+        // 전체 읽기 도중 1번 글이 수정되고 2번 글이 삭제되고 3번 글이 추가됨
+        source.beforeRead = () -> updater.accept(List.of(
+                new ArticleUpdated(1L, 1, "after", "content"),
+                new ArticleDeleted(2L),
+                new ArticleCreated(3L, 0, "created", "content")));
+
+        // when
+        updater.rebuild();
+
+        // then
+        assertThat(index.search("before", 10)).isEmpty();
+        assertThat(index.search("after", 10)).extracting(SearchHit::getArticleId).containsExactly(1L);
+        assertThat(index.search("deleted", 10)).isEmpty();
+        assertThat(index.search("created", 10)).extracting(SearchHit::getArticleId).containsExactly(3L);
+        assertThat(index.search("stale", 10)).isEmpty();
+
+        // when : 다 만든 뒤의 이벤트는 바로 반영
+        updater.accept(List.of(new ArticleDeleted(3L)));
+
+        // then
+        assertThat(index.search("created", 10)).isEmpty();
+    }
+
+    @DisplayName("ArticleSearchIndexUpdater: 커밋 순서와 다르게 도착한 오래된 이벤트는 무시하고, 삭제된 글은 늦게 온 이벤트로 되살리지 않는다.")
+    @Test
+    void ignoreOutOfOrderEvents() {
+        // given
+        ArticleSearchIndexUpdater updater = new ArticleSearchIndexUpdater(index, new MemorySource());
+        updater.accept(List.of(new ArticleUpdated(1L, 2, "second", "content")));
+        updater.accept(List.of(new ArticleDeleted(2L)));
+
+        // when
+        updater.accept(List.of(new ArticleUpdated(1L, 1, "first", "content")));
+        updater.accept(List.of(new ArticleCreated(2L, 0, "revived", "content")));
+
+        // then
+        assertThat(index.search("first", 10)).isEmpty();
+        assertThat(index.search("second", 10)).extracting(SearchHit::getArticleId).containsExactly(1L);
+        assertThat(index.search("revived", 10)).isEmpty();
+    }
+
+    @DisplayName("ArticleSearchIndexUpdater: 이벤트가 버려졌다는 알림을 받으면 전체 글을 다시 읽어서 빠진 변경을 반영한다.")
+    @Test
+    void rebuildWhenEventsWereMissed() {
+        // given : 2번 글 추가 이벤트가 버려짐
+        MemorySource source = new MemorySource(new ArticleCreated(1L, 0, "first", "content"));
+        ArticleSearchIndexUpdater updater = new ArticleSearchIndexUpdater(index, source);
+        updater.rebuild();
+        source.rows.add(new ArticleCreated(2L, 0, "missed", "content"));
+
+        // when
+        updater.missedEvents();
+
+        // then
+        assertThat(index.search("missed", 10)).extracting(SearchHit::getArticleId).containsExactly(2L);
+        assertThat(index.search("first", 10)).extracting(SearchHit::getArticleId).containsExactly(1L);
+    }
+
+    @DisplayName("ArticleSearchIndexUpdater: sync는 지난번 이후에 바뀐 글만 읽어서 다른 서버의 추가/수정을 반영하고, 전체 id에 없는 글은 지운다.")
+    @Test
+    void syncChangesFromOtherServers() {
+        // given
+        MemorySource source = new MemorySource(
+                new ArticleCreated(1L, 0, "first", "content"),
+                new ArticleCreated(2L, 0, "second", "content"));
+        ArticleSearchIndexUpdater updater = new ArticleSearchIndexUpdater(index, source);
+        updater.sync(); // 처음 색인을 만들기 전에는 아무것도 하지 않음
+        assertThat(index.size()).isZero();
+
+        LocalDateTime built = LocalDateTime.now();
+        updater.rebuild();
+
+        // 다른 서버에서 1번 글이 수정되고 2번 글이 삭제되고 3번 글이 추가됨 (이 서버에는 이벤트가 오지 않음)
+        source.rows.clear();
+        source.rows.add(new ArticleCreated(1L, 1, "edited", "content"));
+        source.rows.add(new ArticleCreated(3L, 0, "third", "content"));
+
+        // when
+        updater.sync();
+
+        // then
+        assertThat(source.since).isBefore(built.minus(ArticleSearchIndexUpdater.SYNC_OVERLAP).plusSeconds(1));
+        assertThat(index.search("first", 10)).isEmpty();
+        assertThat(index.search("edited", 10)).extracting(SearchHit::getArticleId).containsExactly(1L);
+        assertThat(index.search("second", 10)).isEmpty();
+        assertThat(index.search("third", 10)).extracting(SearchHit::getArticleId).containsExactly(3L);
+    }
+
+    // DB 대신 메모리 목록 (updatedSince는 시각과 상관없이 전체를 넘기고 받은 시각만 기록)
+    private static class MemorySource implements ArticleSource {
+
+        final List<ArticleCreated> rows;
+        Runnable beforeRead = () -> { };
+        LocalDateTime since;
+
+        MemorySource(ArticleCreated... rows) {
+            this.rows = new ArrayList<>(List.of(rows));
+        }
+
+        @Override
+        public void all(Consumer<ArticleCreated> consumer) {
+            beforeRead.run();
+            rows.forEach(consumer);
+        }
+
+        @Override
+        public void updatedSince(LocalDateTime since, Consumer<ArticleCreated> consumer) {
+            this.since = since;
+            all(consumer);
+        }
+
+        @Override
+        public void ids(LongConsumer consumer) {
+            rows.forEach(row -> consumer.accept(row.getArticleId()));
+        }
+    }
+}
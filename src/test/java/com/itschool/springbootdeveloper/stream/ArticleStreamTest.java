@@ -0,0 +1,148 @@
+package com.itschool.springbootdeveloper.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itschool.springbootdeveloper.event.ArticleDeleted;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleStreamTest {
+
+    private final ArticleStream stream = stream(1); // 전송 스레드 하나, 전송 제한 시간 100ms, 더 붙일 수 있는 스레드 하나
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stream.close();
+    }
+
+    @DisplayName("ArticleStream: 이벤트를 받지 않는 구독자는 send-timeout 뒤에 끊고, 다른 구독자에게는 계속 전송한다.")
+    @Test
+    void dropStuckSubscriber() throws Exception {
+        // given : 쓰기가 멈춘 구독자가 하나뿐인 전송 스레드를 차지함
+        CountDownLatch stuckEntered = new CountDownLatch(1);
+        stream.subscribe(null, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                stuckEntered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        stream.accept(List.of(new ArticleDeleted(1)));
+        assertThat(stuckEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch received = new CountDownLatch(1);
+        stream.subscribe(null, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.countDown();
+            }
+        });
+
+        // when : 정상 구독자의 전송은 멈춘 전송 뒤에서 기다리게 됨
+        stream.accept(List.of(new ArticleDeleted(2)));
+
+        // then : 멈춘 구독자를 끊고 늘린 전송 스레드로 보냄
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(eventually(() -> stream.subscriberCount() == 1)).isTrue(); // 스레드를 늘린 뒤에 끊음
+        assertThat(stream.senderThreadLimit()).isEqualTo(2);
+
+        // when : 멈췄던 전송이 끝나면
+        release.countDown();
+
+        // then : 더 붙였던 스레드를 돌려놓음
+        assertThat(eventually(() -> stream.senderThreadLimit() == 1)).isTrue();
+    }
+
+    @DisplayName("ArticleStream: 더 붙일 수 있는 전송 스레드를 다 쓰면 멈춘 구독자를 끊기만 하고 스레드는 늘리지 않는다.")
+    @Test
+    void dropStuckSubscriberWithoutExtraSender() throws Exception {
+        // given : 더 붙일 수 있는 스레드가 없는 스트림에서 쓰기가 멈춘 구독자
+        ArticleStream capped = stream(0);
+        try {
+            CountDownLatch stuckEntered = new CountDownLatch(1);
+            capped.subscribe(null, new SseEmitter() {
+                @Override
+                public void send(SseEventBuilder builder) {
+                    stuckEntered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+
+            // when
+            capped.accept(List.of(new ArticleDeleted(1)));
+            assertThat(stuckEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // then
+            assertThat(eventually(() -> capped.subscriberCount() == 0)).isTrue();
+            assertThat(capped.senderThreadLimit()).isEqualTo(1);
+
+            release.countDown();
+            Thread.sleep(50); // 멈췄던 전송이 끝나도 줄이지 않음
+            assertThat(capped.senderThreadLimit()).isEqualTo(1);
+        } finally {
+            capped.close();
+        }
+    }
+
+    @DisplayName("ArticleStream: 이벤트가 버려졌다는 알림을 받으면 구독자에게 reset을 보내서 목록을 다시 불러오게 한다.")
+    @Test
+    void sendResetWhenEventsWereMissed() throws Exception {
+        // given
+        BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        stream.subscribe(null, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                StringBuilder event = new StringBuilder();
+                builder.build().forEach(part -> event.append(part.getData()));
+                sent.add(event.toString());
+            }
+        });
+
+        // when
+        stream.missedEvents();
+
+        // then
+        String event = sent.poll(5, TimeUnit.SECONDS);
+        assertThat(event).contains("event:" + ArticleStream.RESET);
+        assertThat(event).contains("id:");
+    }
+
+    private static ArticleStream stream(int maxExtraSenders) {
+        return new ArticleStream(new ObjectMapper(), 16, 16, Duration.ofMinutes(1),
+                Duration.ofMinutes(1), 1, Duration.ofMillis(100), maxExtraSenders);
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}